@@ -0,0 +1,87 @@
+package io.github.jokoframework.benchmarks.dto;
+
+import io.github.jokoframework.benchmarks.model.Shape;
+import io.github.jokoframework.utils.dto_mapping.BaseDTO;
+import io.github.jokoframework.utils.dto_mapping.BaseEntity;
+import io.github.jokoframework.utils.dto_mapping.DTOUtils;
+import io.github.jokoframework.utils.dto_mapping.MappingBackend;
+import io.github.jokoframework.utils.dto_mapping.MappingBackends;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entre entities y DTOs con cada {@link MappingBackend}: un elemento con {@link BaseEntity#toDTO()} y
+ * {@link DTOUtils#fromDTOToEntity}, y una lista con {@link DTOUtils#fromEntityToDTO(List, Class)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// Orika necesita java.lang abierto desde Java 16
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class DTOConversionBenchmark {
+
+    private static final int LIST_SIZE = 1000;
+
+    @Param({"SMALL", "WIDE", "NESTED"})
+    private Shape shape;
+
+    @Param({"accessors", "spring", "orika"})
+    private String backend;
+
+    private BaseEntity<?> entity;
+    private BaseEntity<?> target;
+    private BaseDTO dto;
+    private List<BaseEntity<?>> entities;
+
+    @Setup
+    public void setUp() {
+        MappingBackends.setDefault(backend(backend));
+        entity = shape.newEntity(1);
+        target = shape.newEntity(2);
+        dto = entity.toDTO();
+        entities = shape.newEntities(LIST_SIZE);
+    }
+
+    @Benchmark
+    public Object toDTO() {
+        return entity.toDTO();
+    }
+
+    @Benchmark
+    public Object fromDTOToEntity() {
+        return DTOUtils.fromDTOToEntity(dto, target);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object fromEntityToDTOList() {
+        return DTOUtils.fromEntityToDTO(entities, shape.getDtoClass());
+    }
+
+    private static MappingBackend backend(String name) {
+        switch (name) {
+            case "accessors":
+                return MappingBackends.ACCESSORS;
+            case "spring":
+                return MappingBackends.SPRING;
+            case "orika":
+                return MappingBackends.ORIKA;
+            default:
+                throw new IllegalArgumentException("Unknown backend " + name);
+        }
+    }
+}
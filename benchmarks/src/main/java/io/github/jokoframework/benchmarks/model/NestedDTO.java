@@ -0,0 +1,39 @@
+package io.github.jokoframework.benchmarks.model;
+
+import io.github.jokoframework.utils.dto_mapping.BaseDTO;
+
+import java.util.List;
+
+/**
+ * DTO de {@link NestedEntity}.
+ */
+public class NestedDTO implements BaseDTO {
+
+    private String code;
+    private SmallDTO customer;
+    private List<SmallDTO> contacts;
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public SmallDTO getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(SmallDTO customer) {
+        this.customer = customer;
+    }
+
+    public List<SmallDTO> getContacts() {
+        return contacts;
+    }
+
+    public void setContacts(List<SmallDTO> contacts) {
+        this.contacts = contacts;
+    }
+}
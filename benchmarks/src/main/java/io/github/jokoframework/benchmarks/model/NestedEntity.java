@@ -0,0 +1,49 @@
+package io.github.jokoframework.benchmarks.model;
+
+import io.github.jokoframework.utils.dto_mapping.BaseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity con un entity anidado y una lista de entities.
+ */
+public class NestedEntity extends BaseEntity<NestedDTO> {
+
+    private Long id;
+    private String code;
+    private SmallEntity customer;
+    private List<SmallEntity> contacts = new ArrayList<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public SmallEntity getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(SmallEntity customer) {
+        this.customer = customer;
+    }
+
+    public List<SmallEntity> getContacts() {
+        return contacts;
+    }
+
+    public void setContacts(List<SmallEntity> contacts) {
+        this.contacts = contacts;
+    }
+}
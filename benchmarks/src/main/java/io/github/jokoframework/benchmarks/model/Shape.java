@@ -0,0 +1,117 @@
+package io.github.jokoframework.benchmarks.model;
+
+import io.github.jokoframework.utils.dto_mapping.BaseDTO;
+import io.github.jokoframework.utils.dto_mapping.BaseEntity;
+import io.github.jokoframework.utils.reflection.BeanMetadata;
+import io.github.jokoframework.utils.reflection.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Formas de beans usadas en los benchmarks: pocas propiedades, muchas propiedades y con entities anidados.
+ */
+public enum Shape {
+
+    SMALL(SmallEntity.class, SmallDTO.class, "lastName"),
+    WIDE(WideEntity.class, WideDTO.class, "field42"),
+    NESTED(NestedEntity.class, NestedDTO.class, "code");
+
+    private final Class<? extends BaseEntity<?>> entityClass;
+    private final Class<? extends BaseDTO> dtoClass;
+    private final String stringProperty;
+
+    Shape(Class<? extends BaseEntity<?>> entityClass, Class<? extends BaseDTO> dtoClass, String stringProperty) {
+        this.entityClass = entityClass;
+        this.dtoClass = dtoClass;
+        this.stringProperty = stringProperty;
+    }
+
+    public Class<? extends BaseEntity<?>> getEntityClass() {
+        return entityClass;
+    }
+
+    public Class<? extends BaseDTO> getDtoClass() {
+        return dtoClass;
+    }
+
+    /**
+     * @return Nombre de una propiedad String con getter y setter, para leer y escribir
+     */
+    public String getStringProperty() {
+        return stringProperty;
+    }
+
+    /**
+     * @param seed Valor a partir del cual se generan los valores de las propiedades
+     * @return Entity con todas sus propiedades cargadas
+     */
+    public BaseEntity<?> newEntity(long seed) {
+        if (this == NESTED) {
+            NestedEntity entity = new NestedEntity();
+            entity.setId(seed);
+            entity.setCode("code-" + seed);
+            entity.setCustomer((SmallEntity) SMALL.newEntity(seed));
+            List<SmallEntity> contacts = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                contacts.add((SmallEntity) SMALL.newEntity(seed * 10 + i));
+            }
+            entity.setContacts(contacts);
+            return entity;
+        }
+        BaseEntity<?> entity = newInstance(entityClass);
+        fill(entity, seed);
+        return entity;
+    }
+
+    public BaseDTO newDTO() {
+        return newInstance(dtoClass);
+    }
+
+    /**
+     * @param count Cantidad de entities
+     * @return Lista de entities cargados
+     */
+    public List<BaseEntity<?>> newEntities(int count) {
+        List<BaseEntity<?>> ret = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ret.add(newEntity(i));
+        }
+        return ret;
+    }
+
+    private static void fill(Object bean, long seed) {
+        for (PropertyDescriptor pd : BeanMetadata.forClass(bean.getClass()).getPropertyDescriptors()) {
+            if (pd.getWriteMethod() == null) {
+                continue;
+            }
+            Class<?> type = pd.getPropertyType();
+            Object value = null;
+            if (type == String.class) {
+                value = pd.getName() + "-" + seed;
+            } else if (type == Long.class) {
+                value = seed;
+            } else if (type == Integer.class) {
+                value = (int) seed;
+            } else if (type == Boolean.class) {
+                value = seed % 2 == 0;
+            } else if (type == Date.class) {
+                value = new Date(seed * 1000L);
+            } else if (type == BigDecimal.class) {
+                value = BigDecimal.valueOf(seed, 2);
+            }
+            ReflectionUtils.write(pd, bean, value);
+        }
+    }
+
+    private static <T> T newInstance(Class<T> type) {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.jokoframework.benchmarks.model;
+
+import io.github.jokoframework.utils.dto_mapping.BaseDTO;
+
+import java.util.Date;
+
+/**
+ * DTO de {@link SmallEntity}.
+ */
+public class SmallDTO implements BaseDTO {
+
+    private String firstName;
+    private String lastName;
+    private Date birthDate;
+    private Integer age;
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public Date getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(Date birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+}
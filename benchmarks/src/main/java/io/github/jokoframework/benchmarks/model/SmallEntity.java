@@ -0,0 +1,57 @@
+package io.github.jokoframework.benchmarks.model;
+
+import io.github.jokoframework.utils.dto_mapping.BaseEntity;
+
+import java.util.Date;
+
+/**
+ * Entity con pocas propiedades, similar a los entities típicos de una API.
+ */
+public class SmallEntity extends BaseEntity<SmallDTO> {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private Date birthDate;
+    private Integer age;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public Date getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(Date birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+}
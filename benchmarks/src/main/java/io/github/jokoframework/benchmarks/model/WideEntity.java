@@ -0,0 +1,562 @@
+package io.github.jokoframework.benchmarks.model;
+
+import io.github.jokoframework.utils.dto_mapping.BaseEntity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Entity con 60 propiedades de distintos tipos.
+ */
+public class WideEntity extends BaseEntity<WideDTO> {
+
+    private Long id;
+    private String field00;
+    private Integer field01;
+    private Long field02;
+    private Date field03;
+    private Boolean field04;
+    private BigDecimal field05;
+    private String field06;
+    private Integer field07;
+    private Long field08;
+    private Date field09;
+    private Boolean field10;
+    private BigDecimal field11;
+    private String field12;
+    private Integer field13;
+    private Long field14;
+    private Date field15;
+    private Boolean field16;
+    private BigDecimal field17;
+    private String field18;
+    private Integer field19;
+    private Long field20;
+    private Date field21;
+    private Boolean field22;
+    private BigDecimal field23;
+    private String field24;
+    private Integer field25;
+    private Long field26;
+    private Date field27;
+    private Boolean field28;
+    private BigDecimal field29;
+    private String field30;
+    private Integer field31;
+    private Long field32;
+    private Date field33;
+    private Boolean field34;
+    private BigDecimal field35;
+    private String field36;
+    private Integer field37;
+    private Long field38;
+    private Date field39;
+    private Boolean field40;
+    private BigDecimal field41;
+    private String field42;
+    private Integer field43;
+    private Long field44;
+    private Date field45;
+    private Boolean field46;
+    private BigDecimal field47;
+    private String field48;
+    private Integer field49;
+    private Long field50;
+    private Date field51;
+    private Boolean field52;
+    private BigDecimal field53;
+    private String field54;
+    private Integer field55;
+    private Long field56;
+    private Date field57;
+    private Boolean field58;
+    private BigDecimal field59;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getField00() {
+        return field00;
+    }
+
+    public void setField00(String field00) {
+        this.field00 = field00;
+    }
+
+    public Integer getField01() {
+        return field01;
+    }
+
+    public void setField01(Integer field01) {
+        this.field01 = field01;
+    }
+
+    public Long getField02() {
+        return field02;
+    }
+
+    public void setField02(Long field02) {
+        this.field02 = field02;
+    }
+
+    public Date getField03() {
+        return field03;
+    }
+
+    public void setField03(Date field03) {
+        this.field03 = field03;
+    }
+
+    public Boolean getField04() {
+        return field04;
+    }
+
+    public void setField04(Boolean field04) {
+        this.field04 = field04;
+    }
+
+    public BigDecimal getField05() {
+        return field05;
+    }
+
+    public void setField05(BigDecimal field05) {
+        this.field05 = field05;
+    }
+
+    public String getField06() {
+        return field06;
+    }
+
+    public void setField06(String field06) {
+        this.field06 = field06;
+    }
+
+    public Integer getField07() {
+        return field07;
+    }
+
+    public void setField07(Integer field07) {
+        this.field07 = field07;
+    }
+
+    public Long getField08() {
+        return field08;
+    }
+
+    public void setField08(Long field08) {
+        this.field08 = field08;
+    }
+
+    public Date getField09() {
+        return field09;
+    }
+
+    public void setField09(Date field09) {
+        this.field09 = field09;
+    }
+
+    public Boolean getField10() {
+        return field10;
+    }
+
+    public void setField10(Boolean field10) {
+        this.field10 = field10;
+    }
+
+    public BigDecimal getField11() {
+        return field11;
+    }
+
+    public void setField11(BigDecimal field11) {
+        this.field11 = field11;
+    }
+
+    public String getField12() {
+        return field12;
+    }
+
+    public void setField12(String field12) {
+        this.field12 = field12;
+    }
+
+    public Integer getField13() {
+        return field13;
+    }
+
+    public void setField13(Integer field13) {
+        this.field13 = field13;
+    }
+
+    public Long getField14() {
+        return field14;
+    }
+
+    public void setField14(Long field14) {
+        this.field14 = field14;
+    }
+
+    public Date getField15() {
+        return field15;
+    }
+
+    public void setField15(Date field15) {
+        this.field15 = field15;
+    }
+
+    public Boolean getField16() {
+        return field16;
+    }
+
+    public void setField16(Boolean field16) {
+        this.field16 = field16;
+    }
+
+    public BigDecimal getField17() {
+        return field17;
+    }
+
+    public void setField17(BigDecimal field17) {
+        this.field17 = field17;
+    }
+
+    public String getField18() {
+        return field18;
+    }
+
+    public void setField18(String field18) {
+        this.field18 = field18;
+    }
+
+    public Integer getField19() {
+        return field19;
+    }
+
+    public void setField19(Integer field19) {
+        this.field19 = field19;
+    }
+
+    public Long getField20() {
+        return field20;
+    }
+
+    public void setField20(Long field20) {
+        this.field20 = field20;
+    }
+
+    public Date getField21() {
+        return field21;
+    }
+
+    public void setField21(Date field21) {
+        this.field21 = field21;
+    }
+
+    public Boolean getField22() {
+        return field22;
+    }
+
+    public void setField22(Boolean field22) {
+        this.field22 = field22;
+    }
+
+    public BigDecimal getField23() {
+        return field23;
+    }
+
+    public void setField23(BigDecimal field23) {
+        this.field23 = field23;
+    }
+
+    public String getField24() {
+        return field24;
+    }
+
+    public void setField24(String field24) {
+        this.field24 = field24;
+    }
+
+    public Integer getField25() {
+        return field25;
+    }
+
+    public void setField25(Integer field25) {
+        this.field25 = field25;
+    }
+
+    public Long getField26() {
+        return field26;
+    }
+
+    public void setField26(Long field26) {
+        this.field26 = field26;
+    }
+
+    public Date getField27() {
+        return field27;
+    }
+
+    public void setField27(Date field27) {
+        this.field27 = field27;
+    }
+
+    public Boolean getField28() {
+        return field28;
+    }
+
+    public void setField28(Boolean field28) {
+        this.field28 = field28;
+    }
+
+    public BigDecimal getField29() {
+        return field29;
+    }
+
+    public void setField29(BigDecimal field29) {
+        this.field29 = field29;
+    }
+
+    public String getField30() {
+        return field30;
+    }
+
+    public void setField30(String field30) {
+        this.field30 = field30;
+    }
+
+    public Integer getField31() {
+        return field31;
+    }
+
+    public void setField31(Integer field31) {
+        this.field31 = field31;
+    }
+
+    public Long getField32() {
+        return field32;
+    }
+
+    public void setField32(Long field32) {
+        this.field32 = field32;
+    }
+
+    public Date getField33() {
+        return field33;
+    }
+
+    public void setField33(Date field33) {
+        this.field33 = field33;
+    }
+
+    public Boolean getField34() {
+        return field34;
+    }
+
+    public void setField34(Boolean field34) {
+        this.field34 = field34;
+    }
+
+    public BigDecimal getField35() {
+        return field35;
+    }
+
+    public void setField35(BigDecimal field35) {
+        this.field35 = field35;
+    }
+
+    public String getField36() {
+        return field36;
+    }
+
+    public void setField36(String field36) {
+        this.field36 = field36;
+    }
+
+    public Integer getField37() {
+        return field37;
+    }
+
+    public void setField37(Integer field37) {
+        this.field37 = field37;
+    }
+
+    public Long getField38() {
+        return field38;
+    }
+
+    public void setField38(Long field38) {
+        this.field38 = field38;
+    }
+
+    public Date getField39() {
+        return field39;
+    }
+
+    public void setField39(Date field39) {
+        this.field39 = field39;
+    }
+
+    public Boolean getField40() {
+        return field40;
+    }
+
+    public void setField40(Boolean field40) {
+        this.field40 = field40;
+    }
+
+    public BigDecimal getField41() {
+        return field41;
+    }
+
+    public void setField41(BigDecimal field41) {
+        this.field41 = field41;
+    }
+
+    public String getField42() {
+        return field42;
+    }
+
+    public void setField42(String field42) {
+        this.field42 = field42;
+    }
+
+    public Integer getField43() {
+        return field43;
+    }
+
+    public void setField43(Integer field43) {
+        this.field43 = field43;
+    }
+
+    public Long getField44() {
+        return field44;
+    }
+
+    public void setField44(Long field44) {
+        this.field44 = field44;
+    }
+
+    public Date getField45() {
+        return field45;
+    }
+
+    public void setField45(Date field45) {
+        this.field45 = field45;
+    }
+
+    public Boolean getField46() {
+        return field46;
+    }
+
+    public void setField46(Boolean field46) {
+        this.field46 = field46;
+    }
+
+    public BigDecimal getField47() {
+        return field47;
+    }
+
+    public void setField47(BigDecimal field47) {
+        this.field47 = field47;
+    }
+
+    public String getField48() {
+        return field48;
+    }
+
+    public void setField48(String field48) {
+        this.field48 = field48;
+    }
+
+    public Integer getField49() {
+        return field49;
+    }
+
+    public void setField49(Integer field49) {
+        this.field49 = field49;
+    }
+
+    public Long getField50() {
+        return field50;
+    }
+
+    public void setField50(Long field50) {
+        this.field50 = field50;
+    }
+
+    public Date getField51() {
+        return field51;
+    }
+
+    public void setField51(Date field51) {
+        this.field51 = field51;
+    }
+
+    public Boolean getField52() {
+        return field52;
+    }
+
+    public void setField52(Boolean field52) {
+        this.field52 = field52;
+    }
+
+    public BigDecimal getField53() {
+        return field53;
+    }
+
+    public void setField53(BigDecimal field53) {
+        this.field53 = field53;
+    }
+
+    public String getField54() {
+        return field54;
+    }
+
+    public void setField54(String field54) {
+        this.field54 = field54;
+    }
+
+    public Integer getField55() {
+        return field55;
+    }
+
+    public void setField55(Integer field55) {
+        this.field55 = field55;
+    }
+
+    public Long getField56() {
+        return field56;
+    }
+
+    public void setField56(Long field56) {
+        this.field56 = field56;
+    }
+
+    public Date getField57() {
+        return field57;
+    }
+
+    public void setField57(Date field57) {
+        this.field57 = field57;
+    }
+
+    public Boolean getField58() {
+        return field58;
+    }
+
+    public void setField58(Boolean field58) {
+        this.field58 = field58;
+    }
+
+    public BigDecimal getField59() {
+        return field59;
+    }
+
+    public void setField59(BigDecimal field59) {
+        this.field59 = field59;
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.jokoframework.benchmarks.reflection;
+
+import io.github.jokoframework.utils.reflection.ReflectionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compara {@link ReflectionUtils#getCurrentMethodName()} (StackWalker) contra la implementación anterior basada en
+ * {@link Thread#getStackTrace()}, con pilas de distinta profundidad.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallerLookupBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int stackDepth;
+
+    @Benchmark
+    public Object stackTrace() {
+        return atDepth(stackDepth, CallerLookupBenchmark::legacyCurrentMethodName);
+    }
+
+    @Benchmark
+    public Object stackWalker() {
+        return atDepth(stackDepth, ReflectionUtils::getCurrentMethodName);
+    }
+
+    @Benchmark
+    public Object callerClass() {
+        return atDepth(stackDepth, ReflectionUtils::getCallerClass);
+    }
+
+    private static Object atDepth(int depth, Supplier<Object> lookup) {
+        if (depth == 0) {
+            return lookup.get();
+        }
+        return atDepth(depth - 1, lookup);
+    }
+
+    /**
+     * Implementación original de getCurrentMethodName, que materializa la pila completa.
+     */
+    private static String legacyCurrentMethodName() {
+        boolean doNext = false;
+        String ret = null;
+        StackTraceElement[] e = Thread.currentThread().getStackTrace();
+        for (StackTraceElement s : e) {
+            ret = s.getMethodName();
+            if (doNext) {
+                break;
+            }
+            doNext = ret.equals("legacyCurrentMethodName");
+        }
+        return ret;
+    }
+}
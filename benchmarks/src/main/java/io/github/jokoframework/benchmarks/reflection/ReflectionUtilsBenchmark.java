@@ -0,0 +1,60 @@
+package io.github.jokoframework.benchmarks.reflection;
+
+import io.github.jokoframework.benchmarks.model.Shape;
+import io.github.jokoframework.utils.reflection.ReflectionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReflectionUtils#read(Object, String)}, {@link ReflectionUtils#callSetter(Object, String, Object)} y
+ * {@link ReflectionUtils#describe(Object)} sobre beans de distintas formas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionUtilsBenchmark {
+
+    @Param({"SMALL", "WIDE", "NESTED"})
+    private Shape shape;
+
+    private Object bean;
+    private String property;
+    private String value;
+
+    @Setup
+    public void setUp() {
+        bean = shape.newEntity(1);
+        property = shape.getStringProperty();
+        value = "value";
+    }
+
+    @Benchmark
+    public Object read() {
+        return ReflectionUtils.read(bean, property);
+    }
+
+    @Benchmark
+    public Object callSetter() {
+        ReflectionUtils.callSetter(bean, property, value);
+        return bean;
+    }
+
+    @Benchmark
+    public Object describe() {
+        return ReflectionUtils.describe(bean);
+    }
+}
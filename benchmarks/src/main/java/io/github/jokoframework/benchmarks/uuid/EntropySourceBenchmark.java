@@ -0,0 +1,64 @@
+package io.github.jokoframework.benchmarks.uuid;
+
+import io.github.jokoframework.uuid.EntropySource;
+import io.github.jokoframework.uuid.EntropySources;
+import io.github.jokoframework.uuid.TXUUIDGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación de IDs desde varios threads a la vez con cada {@link EntropySource}. "SHARED" usa un único
+ * SecureRandom compartido por todos los threads, como {@link java.util.UUID#randomUUID()} en la implementación
+ * anterior. Cambiar la cantidad de threads con <code>-t</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class EntropySourceBenchmark {
+
+    @Param({"SHARED", "SECURE", "NON_CRYPTO"})
+    private String source;
+
+    @Param({"false", "true"})
+    private boolean timeOrdered;
+
+    private TXUUIDGenerator generator;
+
+    @Setup
+    public void setUp() {
+        EntropySource entropy;
+        switch (source) {
+            case "SHARED":
+                entropy = new SecureRandom()::nextLong;
+                break;
+            case "SECURE":
+                entropy = EntropySources.SECURE;
+                break;
+            default:
+                entropy = EntropySources.NON_CRYPTO;
+        }
+        generator = timeOrdered ? TXUUIDGenerator.timeOrdered(16, entropy) : new TXUUIDGenerator(20, entropy);
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate();
+    }
+}
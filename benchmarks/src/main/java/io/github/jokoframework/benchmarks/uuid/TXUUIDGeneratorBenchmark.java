@@ -0,0 +1,79 @@
+package io.github.jokoframework.benchmarks.uuid;
+
+import io.github.jokoframework.uuid.TXUUIDGenerator;
+import org.apache.commons.codec.binary.Base32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TXUUIDGenerator#generate()}, {@link TXUUIDGenerator#generateInto(char[], int)} y
+ * {@link TXUUIDGenerator#generate(int)} contra la implementación anterior, que armaba un byte[] y lo codificaba con
+ * commons-codec. Los tiempos son por ID. Correr con <code>-prof gc</code> para ver la memoria alocada por ID.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TXUUIDGeneratorBenchmark {
+
+    private static final int BYTE_SIZE = 8;
+
+    private static final int BATCH = 1000;
+
+    @Param({"12", "20"})
+    private int length;
+
+    private TXUUIDGenerator generator;
+    private char[] buffer;
+
+    @Setup
+    public void setUp() {
+        generator = new TXUUIDGenerator(length);
+        buffer = new char[generator.getEncodedLength()];
+    }
+
+    @Benchmark
+    public String legacy() {
+        UUID uuid = UUID.randomUUID();
+        int numberOfOctets = length * 5 / BYTE_SIZE;
+        byte[] octets = new byte[numberOfOctets];
+        int fromMostSignificant = Math.max(numberOfOctets - Long.SIZE / BYTE_SIZE, 0);
+        TXUUIDGenerator.toArray(uuid.getMostSignificantBits(), fromMostSignificant, octets, 0);
+        TXUUIDGenerator.toArray(uuid.getLeastSignificantBits(), numberOfOctets - fromMostSignificant, octets,
+                fromMostSignificant);
+        Base32 encoder = new Base32(length + length % BYTE_SIZE);
+        return encoder.encodeToString(octets).replace("=", "").trim();
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    public char[] generateInto() {
+        generator.generateInto(buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public String[] generateBatch() {
+        return generator.generate(BATCH);
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.jokoframework.utils.dto_mapping;
 
-import java.lang.reflect.ParameterizedType;
+import org.springframework.core.ResolvableType;
+
+import java.util.function.Function;
 
 /**
  * <p>
@@ -8,29 +10,64 @@ import java.lang.reflect.ParameterizedType;
  *     parametros del Entity son un superconjunto de los parametros del DTO.
  *     El mapping se basa en el nombre
  * </p>
+ * <p>
+ *     La clase del DTO y su constructor se resuelven una unica vez por
+ *     subclase, aunque el parametro de tipo se fije mas arriba en la
+ *     jerarquia. Si el DTO es inmutable (no tiene constructor sin
+ *     parametros) se crea con su constructor, ver {@link ConstructorMapper}.
+ * </p>
  */
 public abstract class BaseEntity<T extends BaseDTO> implements
         DTOConvertable<T>{
 
-
-    public T toDTO(){
-        try {
-            //Crea una instancia del objeto que se parametrizo en la subclase
-            Object obj = ((Class) ((ParameterizedType) this.getClass().
-                    getGenericSuperclass()).getActualTypeArguments()[0])
-                    .newInstance();
-
-            T castedObj=(T)obj;
-            return DTOUtils.fromEntityToDTO(this,castedObj);
-        } catch (InstantiationException pE) {
-            throw new IllegalStateException(pE);
-        } catch (IllegalAccessException pE) {
-            throw new IllegalStateException(pE);
+    //Forma de crear el DTO que se parametrizo en cada subclase
+    private static final ClassValue<DTOFactory> DTO_FACTORIES = new ClassValue<DTOFactory>() {
+        @Override
+        protected DTOFactory computeValue(Class<?> entityClass) {
+            return new DTOFactory(entityClass, resolveDTOClass(entityClass));
         }
+    };
 
+    @SuppressWarnings("unchecked")
+    public T toDTO(){
+        return (T) DTO_FACTORIES.get(getClass()).create.apply(this);
     }
 
     public void fromDTO(T dto){
         DTOUtils.fromDTOToEntity(dto,this);
     }
+
+    /**
+     * @return La clase del DTO con la que se parametrizo esta entidad
+     */
+    @SuppressWarnings("unchecked")
+    protected Class<T> getDTOClass() {
+        return (Class<T>) DTO_FACTORIES.get(getClass()).dtoClass;
+    }
+
+    private static Class<?> resolveDTOClass(Class<?> entityClass) {
+        Class<?> dtoClass = ResolvableType.forClass(entityClass).as(BaseEntity.class).resolveGeneric(0);
+        if (dtoClass == null) {
+            throw new IllegalStateException("Cannot resolve the DTO type of " + entityClass.getName());
+        }
+        return dtoClass;
+    }
+
+    private static final class DTOFactory {
+
+        private final Class<?> dtoClass;
+        private final Function<Object, Object> create;
+
+        private DTOFactory(Class<?> entityClass, Class<?> dtoClass) {
+            this.dtoClass = dtoClass;
+            BeanInstantiator instantiator = BeanInstantiator.forClass(dtoClass);
+            if (!instantiator.isInstantiable() && ConstructorMapper.supports(dtoClass)) {
+                // se resuelve en cada llamada para usar la MappingConfig vigente
+                this.create = entity -> ConstructorMapper.forPair(entityClass, dtoClass).map(entity);
+            } else {
+                this.create = entity -> DTOUtils.fromEntityToDTO((DTOConvertable) entity,
+                        (BaseDTO) instantiator.newInstance());
+            }
+        }
+    }
 }
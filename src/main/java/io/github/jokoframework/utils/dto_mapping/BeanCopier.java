@@ -0,0 +1,243 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import io.github.jokoframework.utils.reflection.BeanMetadata;
+import io.github.jokoframework.utils.reflection.PropertyAccessor;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Copia las propiedades de un objeto a otro basado en el nombre de las mismas, con el mismo criterio que
+ * {@link org.springframework.beans.BeanUtils#copyProperties(Object, Object)}: se copian las propiedades que tienen
+ * getter en el origen y setter en el destino, cuando el tipo (incluyendo genéricos) es asignable.
+ * </p>
+ * <p>
+ * Los nombres distintos, conversiones de tipo y propiedades ignoradas se configuran con {@link MappingConfig} o con
+ * las anotaciones {@link MapFrom} e {@link IgnoreMapping} de la clase destino.
+ * </p>
+ * <p>
+ * A diferencia de BeanUtils, la resolución de propiedades se hace una única vez por par de clases (origen, destino)
+ * y la copia usa los getters/setters compilados de {@link PropertyAccessor}, por lo que convertir listas grandes
+ * cuesta casi lo mismo que llamar a los setters a mano. Los copiers se cachean con {@link ClassPairCache}, que no
+ * impide descargar las clases.
+ * </p>
+ */
+public final class BeanCopier {
+
+    private static final ClassPairCache<BeanCopier> CACHE = new ClassPairCache<>(BeanCopier::new);
+
+    private final Class<?> sourceClass;
+    private final Class<?> targetClass;
+    private final Mapping[] mappings;
+    private final String[] names;
+    private final Function<Object, Object>[] getters;
+    private final BiConsumer<Object, Object>[] setters;
+    // getters del destino para el modo patch, null si la propiedad no se puede leer
+    private final Function<Object, Object>[] targetGetters;
+
+    @SuppressWarnings("unchecked")
+    private BeanCopier(Class<?> sourceClass, Class<?> targetClass) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        BeanMetadata source = BeanMetadata.forClass(sourceClass);
+        BeanMetadata target = BeanMetadata.forClass(targetClass);
+        MappingConfig<?, ?> config = MappingConfig.forPair(sourceClass, targetClass);
+        List<Mapping> all = new ArrayList<>();
+        List<Mapping> assignable = new ArrayList<>();
+        for (PropertyDescriptor targetPd : target.getPropertyDescriptors()) {
+            if (targetPd.getWriteMethod() == null || config.isIgnored(targetPd)) {
+                continue;
+            }
+            PropertyDescriptor sourcePd = source.getPropertyDescriptor(config.sourcePropertyFor(targetPd));
+            if (sourcePd == null || sourcePd.getReadMethod() == null) {
+                continue;
+            }
+            Function<Object, Object> getter = source.getAccessor(sourcePd.getName()).getter();
+            boolean isAssignable = isAssignable(sourcePd.getReadMethod(), targetPd.getWriteMethod());
+            PropertyConverter<Object, Object> converter = config.converterFor(targetPd);
+            if (converter == null && !isAssignable) {
+                converter = config.typeConverterFor(sourcePd.getPropertyType(), targetPd.getPropertyType());
+            }
+            if (converter != null) {
+                getter = converting(getter, converter);
+                isAssignable = true;
+            }
+            Mapping mapping = new Mapping(targetPd.getName(), getter, target.getAccessor(targetPd.getName()).setter(),
+                    ResolvableType.forMethodParameter(targetPd.getWriteMethod(), 0), isAssignable);
+            all.add(mapping);
+            if (mapping.assignable) {
+                assignable.add(mapping);
+            }
+        }
+        this.mappings = all.toArray(new Mapping[0]);
+        this.names = new String[assignable.size()];
+        this.getters = new Function[assignable.size()];
+        this.setters = new BiConsumer[assignable.size()];
+        this.targetGetters = new Function[assignable.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = assignable.get(i).name;
+            getters[i] = assignable.get(i).getter;
+            setters[i] = assignable.get(i).setter;
+            PropertyAccessor targetAccessor = target.getAccessor(names[i]);
+            targetGetters[i] = targetAccessor.isReadable() ? targetAccessor.getter() : null;
+        }
+    }
+
+    static Function<Object, Object> converting(Function<Object, Object> getter,
+                                                       PropertyConverter<Object, Object> converter) {
+        return bean -> {
+            Object value = getter.apply(bean);
+            return value != null ? converter.convert(value) : null;
+        };
+    }
+
+    /**
+     * Descarta el copier del par de clases, para que se vuelva a construir con la configuración actual.
+     */
+    static void invalidate(Class<?> sourceClass, Class<?> targetClass) {
+        CACHE.remove(sourceClass, targetClass);
+    }
+
+    /**
+     * Retorna el copier del par de clases, construyéndolo la primera vez que se pide.
+     *
+     * @param sourceClass Clase origen
+     * @param targetClass Clase destino
+     * @return Copier del par
+     */
+    public static BeanCopier forPair(Class<?> sourceClass, Class<?> targetClass) {
+        return CACHE.get(sourceClass, targetClass);
+    }
+
+    /**
+     * Copia las propiedades de "source" a "target" usando el copier de sus clases.
+     *
+     * @param source Objeto origen
+     * @param target Objeto destino
+     * @param <T> Tipo del destino
+     * @return El mismo "target"
+     * @throws IllegalArgumentException Si alguno de los objetos es null
+     * @throws FatalBeanException Si falla la copia de alguna propiedad
+     */
+    public static <T> T copy(Object source, T target) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Source and target must not be null");
+        }
+        forPair(source.getClass(), target.getClass()).copyProperties(source, target);
+        return target;
+    }
+
+    /**
+     * Copia las propiedades de "source" a "target", que deben ser instancias de las clases del copier.
+     *
+     * @param source Objeto origen
+     * @param target Objeto destino
+     * @throws FatalBeanException Si falla la copia de alguna propiedad
+     */
+    public void copyProperties(Object source, Object target) {
+        for (int i = 0; i < names.length; i++) {
+            try {
+                setters[i].accept(target, getters[i].apply(source));
+            } catch (RuntimeException | Error e) {
+                throw new FatalBeanException("Could not copy property '" + names[i] + "' from source to target", e);
+            }
+        }
+    }
+
+    /**
+     * Copia a "target" solo las propiedades cuyo valor es distinto al de "source" (según
+     * {@link Objects#deepEquals(Object, Object)}), para no marcar como modificadas propiedades que no cambiaron.
+     * Las propiedades sin getter en el destino se escriben siempre.
+     *
+     * @param source Objeto origen
+     * @param target Objeto destino
+     * @param skipNulls Si es true los valores null del origen no se copian
+     * @return Nombres de las propiedades escritas, en el orden de las propiedades
+     * @throws FatalBeanException Si falla la copia de alguna propiedad
+     */
+    public Set<String> patch(Object source, Object target, boolean skipNulls) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (int i = 0; i < names.length; i++) {
+            try {
+                Object value = getters[i].apply(source);
+                if ((value == null && skipNulls)
+                        || (targetGetters[i] != null && Objects.deepEquals(value, targetGetters[i].apply(target)))) {
+                    continue;
+                }
+                setters[i].accept(target, value);
+                changed.add(names[i]);
+            } catch (RuntimeException | Error e) {
+                throw new FatalBeanException("Could not copy property '" + names[i] + "' from source to target", e);
+            }
+        }
+        return changed;
+    }
+
+    public Class<?> getSourceClass() {
+        return sourceClass;
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * @return Nombres de las propiedades que copia este copier
+     */
+    public String[] getPropertyNames() {
+        return names.clone();
+    }
+
+    /**
+     * @return Todas las propiedades con el mismo nombre legibles en el origen y escribibles en el destino, sean o no
+     *         asignables. Lo usa el mapeo profundo.
+     */
+    Mapping[] mappings() {
+        return mappings;
+    }
+
+    /**
+     * Mismo criterio de asignabilidad que BeanUtils.copyProperties de Spring 5.3: se comparan los tipos genéricos
+     * si están resueltos, sino solo las clases.
+     */
+    static boolean isAssignable(Method readMethod, Method writeMethod) {
+        ResolvableType sourceType = ResolvableType.forMethodReturnType(readMethod);
+        ResolvableType targetType = ResolvableType.forMethodParameter(writeMethod, 0);
+        if (sourceType.hasUnresolvableGenerics() || targetType.hasUnresolvableGenerics()) {
+            return ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType());
+        }
+        return targetType.isAssignableFrom(sourceType);
+    }
+
+    /**
+     * Propiedad del origen que corresponde a una propiedad del destino.
+     */
+    static final class Mapping {
+
+        final String name;
+        final Function<Object, Object> getter;
+        final BiConsumer<Object, Object> setter;
+        final ResolvableType targetType;
+        final boolean assignable;
+
+        private Mapping(String name, Function<Object, Object> getter, BiConsumer<Object, Object> setter,
+                        ResolvableType targetType, boolean assignable) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.targetType = targetType;
+            this.assignable = assignable;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+
+/**
+ * Crea instancias de una clase a través de su constructor sin parámetros. El constructor se busca una única vez por
+ * clase y se invoca como {@link MethodHandle}.
+ */
+final class BeanInstantiator {
+
+    private static final MethodType GENERIC_CONSTRUCTOR = MethodType.methodType(Object.class);
+
+    private static final ClassValue<BeanInstantiator> CACHE = new ClassValue<BeanInstantiator>() {
+        @Override
+        protected BeanInstantiator computeValue(Class<?> type) {
+            return new BeanInstantiator(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    private final String error;
+
+    private BeanInstantiator(Class<?> type) {
+        this.type = type;
+        MethodHandle mh = null;
+        String message = null;
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            message = "Cannot instantiate abstract class or interface " + type.getName();
+        } else {
+            try {
+                mh = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                        .findConstructor(type, MethodType.methodType(void.class))
+                        .asType(GENERIC_CONSTRUCTOR);
+            } catch (NoSuchMethodException e) {
+                message = "No default constructor found in " + type.getName();
+            } catch (IllegalAccessException e) {
+                message = "Default constructor of " + type.getName() + " is not accessible";
+            }
+        }
+        this.constructor = mh;
+        this.error = message;
+    }
+
+    static BeanInstantiator forClass(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * @return True si la clase tiene un constructor sin parámetros accesible
+     */
+    boolean isInstantiable() {
+        return constructor != null;
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return Nueva instancia de la clase
+     * @throws IllegalStateException Si la clase no tiene un constructor sin parámetros accesible, o si el constructor
+     *         lanza una excepción chequeada
+     */
+    Object newInstance() {
+        if (constructor == null) {
+            throw new IllegalStateException(error);
+        }
+        try {
+            return constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
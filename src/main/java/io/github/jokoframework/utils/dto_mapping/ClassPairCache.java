@@ -0,0 +1,87 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import java.util.function.BiFunction;
+
+/**
+ * <p>
+ * Cache de valores por par de clases, construidos la primera vez que se piden, que no impide descargar las clases.
+ * </p>
+ * <p>
+ * Los valores (copiers, mappers) referencian a las dos clases, por lo que la clase que los guarda retiene a la otra.
+ * Se guardan en un {@link ClassValue} de la clase cuyo classloader es descendiente (o el mismo) que el de la otra: así
+ * una clase solo retiene clases de classloaders ancestros, que viven al menos lo mismo que ella. Por ejemplo el
+ * copier de un entity de una aplicación web a un DTO de una librería compartida se guarda en el entity y se libera al
+ * descargar la aplicación. Si los classloaders no están relacionados el valor no se cachea.
+ * </p>
+ *
+ * @param <V> Tipo de los valores
+ */
+final class ClassPairCache<V> {
+
+    private final BiFunction<Class<?>, Class<?>, V> factory;
+    // (primera, segunda) guardado en la segunda clase
+    private final ClassValue<ClassValue<V>> ownedBySecond;
+    // (primera, segunda) guardado en la primera clase
+    private final ClassValue<ClassValue<V>> ownedByFirst;
+
+    ClassPairCache(BiFunction<Class<?>, Class<?>, V> factory) {
+        this.factory = factory;
+        this.ownedBySecond = new ClassValue<ClassValue<V>>() {
+            @Override
+            protected ClassValue<V> computeValue(Class<?> first) {
+                return new ClassValue<V>() {
+                    @Override
+                    protected V computeValue(Class<?> second) {
+                        return factory.apply(first, second);
+                    }
+                };
+            }
+        };
+        this.ownedByFirst = new ClassValue<ClassValue<V>>() {
+            @Override
+            protected ClassValue<V> computeValue(Class<?> second) {
+                return new ClassValue<V>() {
+                    @Override
+                    protected V computeValue(Class<?> first) {
+                        return factory.apply(first, second);
+                    }
+                };
+            }
+        };
+    }
+
+    V get(Class<?> first, Class<?> second) {
+        ClassLoader firstLoader = first.getClassLoader();
+        ClassLoader secondLoader = second.getClassLoader();
+        if (isAncestorOrSame(firstLoader, secondLoader)) {
+            return ownedBySecond.get(first).get(second);
+        }
+        if (isAncestorOrSame(secondLoader, firstLoader)) {
+            return ownedByFirst.get(second).get(first);
+        }
+        return factory.apply(first, second);
+    }
+
+    /**
+     * Descarta el valor del par, que se vuelve a construir en el siguiente {@link #get(Class, Class)}.
+     */
+    void remove(Class<?> first, Class<?> second) {
+        ownedBySecond.get(first).remove(second);
+        ownedByFirst.get(second).remove(first);
+    }
+
+    /**
+     * @return True si "ancestor" es "loader" o uno de sus padres. null es el classloader bootstrap, ancestro de todos
+     */
+    private static boolean isAncestorOrSame(ClassLoader ancestor, ClassLoader loader) {
+        if (ancestor == null) {
+            return true;
+        }
+        for (ClassLoader current = loader; current != null; current = current.getParent()) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import io.github.jokoframework.utils.reflection.BeanMetadata;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Crea objetos inmutables (sin setters, con un constructor con todos sus atributos) a partir de las propiedades de
+ * otro objeto. Cada parámetro del constructor se carga con la propiedad del origen del mismo nombre, si existe y su
+ * tipo es asignable; sino recibe null (o el valor por defecto si es primitivo).
+ * </p>
+ * <p>
+ * Los nombres distintos, conversiones y parámetros ignorados se configuran igual que en {@link BeanCopier}, con
+ * {@link MappingConfig} o con las anotaciones {@link MapFrom} e {@link IgnoreMapping} en los atributos del destino.
+ * </p>
+ * <p>
+ * El constructor es el que resuelve {@link BeanUtils#getResolvableConstructor(Class)}: el único constructor público
+ * o, si no hay, el único declarado. Los nombres de los parámetros se obtienen de
+ * {@link java.beans.ConstructorProperties} o de la información de compilación (<code>-parameters</code> o
+ * información de debug).
+ * </p>
+ * <p>
+ * El constructor y los getters se resuelven una única vez por par de clases y se invocan como {@link MethodHandle}.
+ * Los mappers se cachean con {@link ClassPairCache}, que no impide descargar las clases.
+ * </p>
+ *
+ * @param <T> Clase destino
+ */
+public final class ConstructorMapper<T> {
+
+    private static final ClassPairCache<ConstructorMapper<?>> CACHE =
+            new ClassPairCache<>((source, target) -> new ConstructorMapper<>(source, target));
+
+    private final Class<T> targetClass;
+    private final String[] names;
+    private final Function<Object, Object>[] getters;
+    private final Object[] defaults;
+    private final MethodHandle constructor;
+
+    @SuppressWarnings("unchecked")
+    private ConstructorMapper(Class<?> sourceClass, Class<T> targetClass) {
+        this.targetClass = targetClass;
+        Constructor<T> ctor = BeanUtils.getResolvableConstructor(targetClass);
+        if (ctor.getParameterCount() == 0) {
+            throw new IllegalStateException(targetClass.getName() + " has no constructor with parameters");
+        }
+        this.names = BeanUtils.getParameterNames(ctor);
+        this.getters = new Function[names.length];
+        this.defaults = new Object[names.length];
+        BeanMetadata source = BeanMetadata.forClass(sourceClass);
+        BeanMetadata target = BeanMetadata.forClass(targetClass);
+        MappingConfig<?, ?> config = MappingConfig.forPair(sourceClass, targetClass);
+        for (int i = 0; i < names.length; i++) {
+            Class<?> parameterType = ctor.getParameterTypes()[i];
+            if (parameterType.isPrimitive()) {
+                defaults[i] = Array.get(Array.newInstance(parameterType, 1), 0);
+            }
+            PropertyDescriptor targetPd = target.getPropertyDescriptor(names[i]);
+            Method writeMethod = targetPd != null ? targetPd.getWriteMethod() : null;
+            if (config.isIgnored(names[i], writeMethod)) {
+                continue;
+            }
+            PropertyDescriptor sourcePd = source.getPropertyDescriptor(config.sourcePropertyFor(names[i], writeMethod));
+            if (sourcePd == null || sourcePd.getReadMethod() == null) {
+                continue;
+            }
+            Function<Object, Object> getter = source.getAccessor(sourcePd.getName()).getter();
+            PropertyConverter<Object, Object> converter = config.converterFor(names[i], writeMethod);
+            boolean isAssignable = isAssignable(sourcePd, ctor, i);
+            if (converter == null && !isAssignable) {
+                converter = config.typeConverterFor(sourcePd.getPropertyType(), parameterType);
+            }
+            if (converter != null) {
+                getters[i] = BeanCopier.converting(getter, converter);
+            } else if (isAssignable) {
+                getters[i] = getter;
+            }
+        }
+        try {
+            this.constructor = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup())
+                    .unreflectConstructor(ctor)
+                    .asSpreader(Object[].class, names.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Constructor of " + targetClass.getName() + " is not accessible", e);
+        }
+    }
+
+    /**
+     * Retorna el mapper del par de clases, construyéndolo la primera vez que se pide.
+     *
+     * @param sourceClass Clase origen
+     * @param targetClass Clase destino
+     * @param <T> Tipo del destino
+     * @return Mapper del par
+     * @throws IllegalStateException Si la clase destino no tiene un constructor con parámetros utilizable
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ConstructorMapper<T> forPair(Class<?> sourceClass, Class<T> targetClass) {
+        return (ConstructorMapper<T>) CACHE.get(sourceClass, targetClass);
+    }
+
+    /**
+     * Descarta el mapper del par de clases, para que se vuelva a construir con la configuración actual.
+     */
+    static void invalidate(Class<?> sourceClass, Class<?> targetClass) {
+        CACHE.remove(sourceClass, targetClass);
+    }
+
+    /**
+     * @return True si la clase tiene un constructor con parámetros utilizable por este mapper
+     */
+    static boolean supports(Class<?> targetClass) {
+        try {
+            return BeanUtils.getResolvableConstructor(targetClass).getParameterCount() > 0;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Crea una instancia de la clase destino con los valores de "source".
+     *
+     * @param source Objeto origen, de la clase origen del mapper
+     * @return Nueva instancia
+     * @throws FatalBeanException Si falla la lectura de alguna propiedad o el constructor
+     */
+    public T map(Object source) {
+        Object[] args = new Object[names.length];
+        for (int i = 0; i < args.length; i++) {
+            Object value = null;
+            if (getters[i] != null) {
+                try {
+                    value = getters[i].apply(source);
+                } catch (RuntimeException | Error e) {
+                    throw new FatalBeanException("Could not read property '" + names[i] + "' from source", e);
+                }
+            }
+            args[i] = value != null ? value : defaults[i];
+        }
+        try {
+            return targetClass.cast(constructor.invokeExact(args));
+        } catch (Throwable e) {
+            throw new FatalBeanException("Could not instantiate " + targetClass.getName(), e);
+        }
+    }
+
+    /**
+     * @return Nombres de los parámetros del constructor, en orden
+     */
+    public String[] getParameterNames() {
+        return names.clone();
+    }
+
+    private static boolean isAssignable(PropertyDescriptor sourcePd, Constructor<?> ctor, int index) {
+        Class<?> parameterType = ctor.getParameterTypes()[index];
+        if (ClassUtils.isPrimitiveOrWrapper(parameterType)) {
+            return ClassUtils.isAssignable(parameterType, sourcePd.getPropertyType());
+        }
+        ResolvableType sourceType = ResolvableType.forMethodReturnType(sourcePd.getReadMethod());
+        ResolvableType targetType = ResolvableType.forMethodParameter(new MethodParameter(ctor, index));
+        if (sourceType.hasUnresolvableGenerics() || targetType.hasUnresolvableGenerics()) {
+            return ClassUtils.isAssignable(parameterType, sourcePd.getPropertyType());
+        }
+        return targetType.isAssignableFrom(sourceType);
+    }
+}
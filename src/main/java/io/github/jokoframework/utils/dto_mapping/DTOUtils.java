@@ -4,12 +4,18 @@ package io.github.jokoframework.utils.dto_mapping;
  * Created by danicricco on 2/26/18.
  */
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.support.PagedListHolder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /***
  * <p>
@@ -18,6 +24,10 @@ import java.util.List;
  * Los DTOs deben implementar la interfaz
  * {@link BaseDTO} Los elementos que se pueden convertir a DTO deben implementar
  * {@link DTOConvertable}
+ * <p>
+ * Las copias de propiedades usan el {@link MappingBackend} configurado en {@link MappingBackends}, por defecto
+ * {@link BeanCopier}, que resuelve las propiedades una única vez por par de clases.
+ * </p>
  *
  * @author danicricco
  *
@@ -27,6 +37,9 @@ public class DTOUtils {
     private DTOUtils() {
     }
 
+    // por debajo de este tamaño no compensa repartir la conversión entre hilos
+    private static final int PARALLEL_THRESHOLD = 1024;
+
     /**
      * Recorre una lista de elemenos de tipo DTOConvertable, los conviente a DTO
      * y devuelve una lista de DTOs.
@@ -35,18 +48,113 @@ public class DTOUtils {
      * @param clazz La clase DTO destino
      * @return Siempre devuelve un array, el cual puede estar vacio
      */
-    @SuppressWarnings("unchecked")
     public static <T> List<T> fromEntityToDTO(List<? extends DTOConvertable> entities, Class<T> clazz) {
-        List<T> list = new ArrayList<T>();
-        if(entities!=null){
-            List<DTOConvertable> l = (List<DTOConvertable>) entities;
-            for (DTOConvertable o : l) {
-                list.add((T) o.toDTO());
-            }
+        return fromEntityToDTO((Iterable<? extends DTOConvertable>) entities, clazz);
+    }
+
+    /**
+     * Igual que {@link #fromEntityToDTO(List, Class)} para cualquier Iterable.
+     * Si es una Collection la lista resultante se crea con el tamaño exacto.
+     * @param entities Soporta null values
+     * @param clazz La clase DTO destino
+     * @return Siempre devuelve una lista, la cual puede estar vacia
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> fromEntityToDTO(Iterable<? extends DTOConvertable> entities, Class<T> clazz) {
+        if (entities == null) {
+            return new ArrayList<T>();
+        }
+        List<T> list = entities instanceof Collection
+                ? new ArrayList<T>(((Collection<?>) entities).size())
+                : new ArrayList<T>();
+        for (DTOConvertable o : entities) {
+            list.add((T) o.toDTO());
         }
         return list;
     }
 
+    /**
+     * Devuelve un stream que convierte cada entity a DTO recién cuando se
+     * consume. Util para paginar o filtrar sin convertir toda la lista.
+     * @param entities Soporta null values
+     * @param clazz La clase DTO destino
+     * @return Stream de DTOs, vacio si entities es null
+     */
+    public static <T> Stream<T> toDTOStream(Iterable<? extends DTOConvertable> entities, Class<T> clazz) {
+        if (entities == null) {
+            return Stream.empty();
+        }
+        return toDTOStream(StreamSupport.stream(entities.spliterator(), false), clazz);
+    }
+
+    /**
+     * Agrega al stream de entities la conversion a DTO, sin consumirlo. Para
+     * obtener una lista basta con hacer collect sobre el resultado.
+     * @param entities Soporta null values
+     * @param clazz La clase DTO destino
+     * @return Stream de DTOs, vacio si entities es null
+     */
+    public static <T> Stream<T> toDTOStream(Stream<? extends DTOConvertable> entities, Class<T> clazz) {
+        if (entities == null) {
+            return Stream.empty();
+        }
+        return entities.map(o -> clazz.cast(o.toDTO()));
+    }
+
+    /**
+     * Igual que {@link #fromEntityToDTO(List, Class)}, pero las listas
+     * grandes se convierten en paralelo usando el pool común de fork-join.
+     * El orden del resultado es el mismo que el de entities.
+     * @param entities Soporta null values
+     * @param clazz La clase DTO destino
+     * @return Siempre devuelve una lista, la cual puede estar vacia
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> fromEntityToDTOParallel(Collection<? extends DTOConvertable> entities,
+                                                      Class<T> clazz) {
+        if (entities == null || entities.size() < PARALLEL_THRESHOLD) {
+            return fromEntityToDTO(entities, clazz);
+        }
+        Object[] array = entities.toArray();
+        IntStream.range(0, array.length).parallel()
+                .forEach(i -> array[i] = ((DTOConvertable) array[i]).toDTO());
+        return new ArrayList<T>((List<T>) Arrays.asList(array));
+    }
+
+    /**
+     * Devuelve una vista de entities que convierte cada elemento a DTO recién
+     * cuando se accede. Los DTOs ya convertidos se memoizan.
+     * @param entities Soporta null values
+     * @param clazz La clase DTO destino
+     * @return Lista de solo lectura, vacia si entities es null
+     * @see LazyDTOList
+     */
+    public static <T> LazyDTOList<T> lazyFromEntityToDTO(List<? extends DTOConvertable> entities, Class<T> clazz) {
+        return lazyFromEntityToDTO(entities, clazz, true);
+    }
+
+    /**
+     * Devuelve una vista de entities que convierte cada elemento a DTO recién
+     * cuando se accede.
+     * @param entities Soporta null values
+     * @param clazz La clase DTO destino
+     * @param memoize Si es true cada DTO se convierte una sola vez, sino en
+     *                cada acceso
+     * @return Lista de solo lectura, vacia si entities es null
+     * @see LazyDTOList
+     */
+    public static <T> LazyDTOList<T> lazyFromEntityToDTO(List<? extends DTOConvertable> entities, Class<T> clazz,
+                                                         boolean memoize) {
+        if (entities == null) {
+            return new LazyDTOList<T>(Collections.<DTOConvertable>emptyList(), clazz, memoize);
+        }
+        //Con listas enlazadas el acceso por indice seria lineal
+        List<? extends DTOConvertable> source = entities instanceof RandomAccess
+                ? entities
+                : new ArrayList<DTOConvertable>(entities);
+        return new LazyDTOList<T>(source, clazz, memoize);
+    }
+
     /**
      * Convierte un entity a un DTO en base a las propiedades. Busca que los
      * nombres de los atributos sean iguales.
@@ -56,10 +164,25 @@ public class DTOUtils {
      * @return
      */
     public static <T extends BaseDTO> T fromEntityToDTO(DTOConvertable entity, T destination) {
-        BeanUtils.copyProperties(entity, destination);
+        MappingBackends.copy(entity, destination);
         return destination;
     }
 
+    /**
+     * Crea un DTO inmutable con su constructor, cargando cada parametro con
+     * la propiedad del entity del mismo nombre.
+     * @param entity El entity original
+     * @param clazz La clase DTO destino, con un constructor con parametros
+     * @return El DTO creado, null si entity es null
+     * @see ConstructorMapper
+     */
+    public static <T> T fromEntityToImmutableDTO(Object entity, Class<T> clazz) {
+        if (entity == null) {
+            return null;
+        }
+        return ConstructorMapper.forPair(entity.getClass(), clazz).map(entity);
+    }
+
     /**
      * Conviertie un DTO a un entity en base a las propiedades. Busca que los
      * nombres de los atributos sean iguales.
@@ -69,10 +192,27 @@ public class DTOUtils {
      * @return
      */
     public static <T extends DTOConvertable> T fromDTOToEntity(BaseDTO dto, T entity) {
-        BeanUtils.copyProperties(dto, entity);
+        MappingBackends.copy(dto, entity);
         return entity;
     }
 
+    /**
+     * Igual que {@link #fromDTOToEntity(BaseDTO, DTOConvertable)}, pero solo
+     * llama a los setters de las propiedades cuyo valor cambio. Util con
+     * entities administrados por JPA, para que solo se actualicen las
+     * columnas modificadas.
+     * @param dto El DTO con los nuevos valores
+     * @param entity El entity a actualizar
+     * @param skipNulls Si es true los valores null del DTO no se copian
+     * @return Nombres de las propiedades que cambiaron, vacio si ninguna
+     */
+    public static Set<String> patchEntity(BaseDTO dto, DTOConvertable entity, boolean skipNulls) {
+        if (dto == null || entity == null) {
+            throw new IllegalArgumentException("Source and target must not be null");
+        }
+        return BeanCopier.forPair(dto.getClass(), entity.getClass()).patch(dto, entity, skipNulls);
+    }
+
     /**
      * Copia las propiedades de un objeto a otro basado en el nombre d elas
      * mismas.
@@ -82,15 +222,58 @@ public class DTOUtils {
      * @return
      */
     public static <T extends BaseDTO> T fromDTOToDTO(BaseDTO origin, T destination) {
-        BeanUtils.copyProperties(origin, destination);
+        MappingBackends.copy(origin, destination);
         return destination;
     }
 
     public static <T extends BaseDTO> T shallowCopy(T origin, T destination) {
-        BeanUtils.copyProperties(origin, destination);
+        MappingBackends.copy(origin, destination);
         return destination;
     }
 
+    /**
+     * Copia en profundidad origin sobre destination: los beans, colecciones
+     * y mapas anidados se copian en nuevas instancias en lugar de compartir
+     * las referencias.
+     * @see DeepMapper
+     */
+    public static <T> T deepCopy(Object origin, T destination) {
+        return DeepMapper.create().copy(origin, destination);
+    }
+
+    /**
+     * Igual que {@link #deepCopy(Object, Object)}, dejando en null los beans
+     * anidados a mas de maxDepth niveles.
+     * @see DeepMapper#withMaxDepth(int)
+     */
+    public static <T> T deepCopy(Object origin, T destination, int maxDepth) {
+        return DeepMapper.withMaxDepth(maxDepth).copy(origin, destination);
+    }
+
+    /**
+     * Convierte en profundidad una lista de entities a DTOs. Los entities
+     * anidados se convierten a los DTOs declarados en {@link DTOConvertable}
+     * y las referencias compartidas entre elementos se mantienen.
+     * @param entities Soporta null values
+     * @param clazz La clase DTO destino
+     * @param maxDepth Niveles de beans anidados a convertir, ver
+     *                 {@link DeepMapper#UNLIMITED}
+     * @return Siempre devuelve una lista, la cual puede estar vacia
+     */
+    public static <T> List<T> fromEntityToDTODeep(Iterable<? extends DTOConvertable> entities, Class<T> clazz,
+                                                  int maxDepth) {
+        List<T> list = entities instanceof Collection
+                ? new ArrayList<T>(((Collection<?>) entities).size())
+                : new ArrayList<T>();
+        if (entities != null) {
+            DeepMapper.Context context = DeepMapper.withMaxDepth(maxDepth).newContext();
+            for (DTOConvertable o : entities) {
+                list.add(context.map(o, clazz));
+            }
+        }
+        return list;
+    }
+
     /**
      * Get a safe list of objects or empty list.
      * Util para devolver listas en las que esperamos que la lista retornada
@@ -0,0 +1,310 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>
+ * Copia grafos de objetos por nombre de propiedades, creando nuevas instancias para los beans anidados en lugar de
+ * copiar sus referencias.
+ * </p>
+ * <ul>
+ * <li>Los beans anidados se copian en una nueva instancia del tipo de la propiedad destino. Si el valor es un
+ * {@link DTOConvertable} y la propiedad destino admite su DTO, se crea el DTO declarado en
+ * <code>DTOConvertable&lt;T&gt;</code> y se mapea en profundidad (no se llama a <code>toDTO()</code>, que es
+ * superficial).</li>
+ * <li>Las colecciones y mapas se copian en nuevas instancias, mapeando sus elementos (y los valores de los mapas) al
+ * tipo genérico de la propiedad destino. Para propiedades declaradas como interfaz se usa la implementación por
+ * defecto de {@link CollectionFactory} (ArrayList, LinkedHashSet, TreeSet, LinkedHashMap, etc).</li>
+ * <li>Los valores simples (Strings, números, fechas, enums, etc.) y los demás tipos del JDK se copian por referencia
+ * si son asignables, igual que en {@link BeanCopier}.</li>
+ * <li>Cada objeto del origen se copia una sola vez por mapeo: las referencias compartidas y los ciclos se reproducen
+ * en el destino.</li>
+ * <li>Los beans anidados a más de "maxDepth" niveles de la raíz, y las colecciones que los contienen, se dejan en
+ * <code>null</code>.</li>
+ * </ul>
+ * <p>
+ * Las propiedades se resuelven con los copiers cacheados de {@link BeanCopier}. Las instancias son inmutables y
+ * thread-safe.
+ * </p>
+ */
+public final class DeepMapper {
+
+    /**
+     * Sin límite de profundidad
+     */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final DeepMapper DEFAULT = new DeepMapper(UNLIMITED);
+
+    // valor de retorno para "no escribir la propiedad"
+    private static final Object SKIP = new Object();
+
+    private static final ClassValue<Optional<Class<?>>> DTO_TYPES = new ClassValue<Optional<Class<?>>>() {
+        @Override
+        protected Optional<Class<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(ResolvableType.forClass(type).as(DTOConvertable.class).resolveGeneric(0));
+        }
+    };
+
+    private final int maxDepth;
+
+    private DeepMapper(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return Mapper sin límite de profundidad
+     */
+    public static DeepMapper create() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param maxDepth Cantidad de niveles de beans anidados a copiar debajo de la raíz. Con 0 solo se copian los
+     *                 valores simples y las colecciones de valores simples de la raíz
+     * @return Mapper con la profundidad indicada
+     */
+    public static DeepMapper withMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative");
+        }
+        return maxDepth == UNLIMITED ? DEFAULT : new DeepMapper(maxDepth);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Copia en profundidad "source" sobre "target".
+     *
+     * @param source Objeto origen
+     * @param target Objeto destino
+     * @param <T> Tipo del destino
+     * @return El mismo "target"
+     * @throws IllegalArgumentException Si alguno de los objetos es null
+     */
+    public <T> T copy(Object source, T target) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Source and target must not be null");
+        }
+        return newContext().copyRoot(source, target);
+    }
+
+    /**
+     * Crea una instancia de "targetClass" y copia en profundidad "source" sobre ella.
+     *
+     * @param source Objeto origen, puede ser null
+     * @param targetClass Clase destino, debe tener un constructor sin parámetros
+     * @param <T> Tipo del destino
+     * @return Nueva instancia o null si "source" es null
+     */
+    public <T> T map(Object source, Class<T> targetClass) {
+        return newContext().map(source, targetClass);
+    }
+
+    /**
+     * Crea un contexto de mapeo. Los objetos mapeados con el mismo contexto comparten el registro de instancias ya
+     * copiadas, útil para convertir listas preservando las referencias compartidas entre elementos.
+     *
+     * @return Nuevo contexto, no thread-safe
+     */
+    public Context newContext() {
+        return new Context();
+    }
+
+    /**
+     * Registro de las instancias copiadas en un mapeo.
+     */
+    public final class Context {
+
+        private final Map<Object, Object> visited = new IdentityHashMap<>();
+
+        private Context() {
+        }
+
+        /**
+         * @see DeepMapper#map(Object, Class)
+         */
+        public <T> T map(Object source, Class<T> targetClass) {
+            if (source == null) {
+                return null;
+            }
+            Object existing = visited.get(source);
+            if (targetClass.isInstance(existing)) {
+                return targetClass.cast(existing);
+            }
+            return copyRoot(source, targetClass.cast(BeanInstantiator.forClass(targetClass).newInstance()));
+        }
+
+        private <T> T copyRoot(Object source, T target) {
+            visited.put(source, target);
+            copyProperties(source, target, 0);
+            return target;
+        }
+
+        private void copyProperties(Object source, Object target, int depth) {
+            for (BeanCopier.Mapping mapping : BeanCopier.forPair(source.getClass(), target.getClass()).mappings()) {
+                try {
+                    Object value = mapProperty(mapping, mapping.getter.apply(source), depth);
+                    if (value != SKIP) {
+                        mapping.setter.accept(target, value);
+                    }
+                } catch (RuntimeException | Error e) {
+                    throw new FatalBeanException("Could not copy property '" + mapping.name + "' from source to target",
+                            e);
+                }
+            }
+        }
+
+        private Object mapProperty(BeanCopier.Mapping mapping, Object value, int depth) {
+            if (value == null) {
+                Class<?> targetClass = mapping.targetType.resolve(Object.class);
+                boolean mappable = mapping.assignable || isBean(targetClass)
+                        || Collection.class.isAssignableFrom(targetClass) || Map.class.isAssignableFrom(targetClass);
+                return mappable && !targetClass.isPrimitive() ? null : SKIP;
+            }
+            Object mapped = mapValue(value, mapping.targetType, depth);
+            if (mapped != SKIP || !mapping.assignable) {
+                return mapped;
+            }
+            // tipo que no se copia en profundidad: por referencia, con el mismo criterio que BeanCopier
+            return value;
+        }
+
+        /**
+         * Mapea un valor al tipo "type", siendo "depth" el nivel del bean que lo contiene.
+         */
+        private Object mapValue(Object value, ResolvableType type, int depth) {
+            Class<?> targetClass = type.resolve(Object.class);
+            if (value instanceof Collection && Collection.class.isAssignableFrom(targetClass)) {
+                return mapCollection((Collection<?>) value, type, targetClass, depth);
+            }
+            if (value instanceof Map && Map.class.isAssignableFrom(targetClass)) {
+                return mapMap((Map<?, ?>) value, type, targetClass, depth);
+            }
+            if (!isBean(value.getClass())) {
+                return SKIP;
+            }
+            Class<?> beanClass = targetBeanClass(value, targetClass);
+            if (beanClass == null) {
+                return SKIP;
+            }
+            if (depth >= maxDepth) {
+                return null;
+            }
+            Object existing = visited.get(value);
+            if (beanClass.isInstance(existing)) {
+                return existing;
+            }
+            Object target = BeanInstantiator.forClass(beanClass).newInstance();
+            visited.put(value, target);
+            copyProperties(value, target, depth + 1);
+            return target;
+        }
+
+        private Object mapCollection(Collection<?> source, ResolvableType type, Class<?> targetClass, int depth) {
+            Object existing = visited.get(source);
+            if (targetClass.isInstance(existing)) {
+                return existing;
+            }
+            if (depth >= maxDepth && containsBean(source)) {
+                return null;
+            }
+            ResolvableType elementType = type.asCollection().getGeneric(0);
+            Collection<Object> target = CollectionFactory.createCollection(targetClass,
+                    elementType.resolve(), source.size());
+            visited.put(source, target);
+            for (Object element : source) {
+                target.add(mapElement(element, elementType, depth));
+            }
+            return target;
+        }
+
+        private Object mapMap(Map<?, ?> source, ResolvableType type, Class<?> targetClass, int depth) {
+            Object existing = visited.get(source);
+            if (targetClass.isInstance(existing)) {
+                return existing;
+            }
+            if (depth >= maxDepth && containsBean(source.values())) {
+                return null;
+            }
+            ResolvableType mapType = type.asMap();
+            ResolvableType valueType = mapType.getGeneric(1);
+            Map<Object, Object> target = CollectionFactory.createMap(targetClass,
+                    mapType.getGeneric(0).resolve(), source.size());
+            visited.put(source, target);
+            for (Map.Entry<?, ?> entry : source.entrySet()) {
+                target.put(entry.getKey(), mapElement(entry.getValue(), valueType, depth));
+            }
+            return target;
+        }
+
+        /**
+         * Los elementos que no se pueden mapear se conservan tal cual, igual que al copiar la colección por
+         * referencia.
+         */
+        private Object mapElement(Object element, ResolvableType elementType, int depth) {
+            if (element == null) {
+                return null;
+            }
+            Object mapped = mapValue(element, elementType, depth);
+            return mapped != SKIP ? mapped : element;
+        }
+
+        /**
+         * Clase del bean destino: el DTO de un DTOConvertable, la misma clase del valor o la clase de la propiedad.
+         * Si la propiedad es de un tipo abstracto y el valor no es de ese tipo ni un DTOConvertable con un DTO que lo
+         * sea, no hay una clase que instanciar.
+         */
+        private Class<?> targetBeanClass(Object value, Class<?> targetClass) {
+            if (value instanceof DTOConvertable && !targetClass.isInstance(value)) {
+                Class<?> dtoClass = DTO_TYPES.get(value.getClass()).orElse(null);
+                if (dtoClass != null && targetClass.isAssignableFrom(dtoClass)) {
+                    return dtoClass;
+                }
+            }
+            if (targetClass.isInstance(value)) {
+                return value.getClass();
+            }
+            return isBean(targetClass) && !targetClass.isInterface() && !Modifier.isAbstract(targetClass.getModifiers())
+                    ? targetClass : null;
+        }
+    }
+
+    /**
+     * Las colecciones de beans cuentan como un nivel más: si sus elementos quedan fuera de la profundidad máxima la
+     * colección entera se deja en null.
+     */
+    private static boolean containsBean(Collection<?> values) {
+        for (Object value : values) {
+            if (value != null && isBean(value.getClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Beans que se copian en profundidad: clases que no son valores simples, colecciones, arrays ni clases del JDK.
+     */
+    private static boolean isBean(Class<?> type) {
+        return !BeanUtils.isSimpleValueType(type)
+                && !type.isArray()
+                && !Collection.class.isAssignableFrom(type)
+                && !Map.class.isAssignableFrom(type)
+                && !ClassUtils.isPrimitiveOrWrapper(type)
+                && !type.getName().startsWith("java.")
+                && !type.getName().startsWith("javax.");
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indica que una propiedad no se escribe al copiar propiedades hacia la clase anotada desde otra clase. Se coloca en
+ * el atributo o en el setter. Al copiar entre clases de la misma jerarquía (por ejemplo un DTO a otro DTO de la misma
+ * clase) la propiedad se copia.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IgnoreMapping {
+}
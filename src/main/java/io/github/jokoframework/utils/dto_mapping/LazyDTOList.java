@@ -0,0 +1,64 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * Vista de solo lectura de una lista de entities que convierte cada elemento a DTO recién cuando se accede a él.
+ * Útil para paginar ({@link java.util.List#subList(int, int)},
+ * {@link org.springframework.beans.support.PagedListHolder}) listas grandes pagando solo por los elementos que
+ * efectivamente se usan.
+ * </p>
+ * <p>
+ * Si se memoiza, cada DTO se convierte una sola vez y se retorna la misma instancia en los accesos siguientes; sino
+ * cada acceso crea un DTO nuevo. La lista de entities no debe cambiar de tamaño mientras se usa la vista. Al igual que
+ * {@link java.util.ArrayList}, no es thread-safe.
+ * </p>
+ *
+ * @param <T> Tipo de los DTOs
+ */
+public final class LazyDTOList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<? extends DTOConvertable> entities;
+    private final Class<T> dtoClass;
+    private final Object[] converted;
+    private final BitSet isConverted;
+
+    LazyDTOList(List<? extends DTOConvertable> entities, Class<T> dtoClass, boolean memoize) {
+        this.entities = entities;
+        this.dtoClass = dtoClass;
+        this.converted = memoize ? new Object[entities.size()] : null;
+        this.isConverted = memoize ? new BitSet(entities.size()) : null;
+    }
+
+    @Override
+    public T get(int index) {
+        if (converted == null) {
+            return dtoClass.cast(entities.get(index).toDTO());
+        }
+        if (converted.length != entities.size()) {
+            throw new ConcurrentModificationException("The entity list changed its size");
+        }
+        if (!isConverted.get(index)) {
+            converted[index] = entities.get(index).toDTO();
+            isConverted.set(index);
+        }
+        return dtoClass.cast(converted[index]);
+    }
+
+    @Override
+    public int size() {
+        return entities.size();
+    }
+
+    /**
+     * @return Cantidad de elementos ya convertidos. Si no se memoiza siempre es 0
+     */
+    public int convertedCount() {
+        return isConverted != null ? isConverted.cardinality() : 0;
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Indica de qué propiedad del origen se copia una propiedad del destino, y opcionalmente cómo se convierte su valor.
+ * Se coloca en el atributo o en el setter de la clase destino (normalmente el DTO):
+ * </p>
+ * <pre>
+ * &#64;MapFrom(value = "birthDate", converter = DateToIsoString.class)
+ * private String birthday;
+ * </pre>
+ * <p>
+ * Solo aplica cuando la clase anotada es el destino de la copia y el origen no es de la misma jerarquía (al copiar
+ * un DTO a otro de la misma clase se copian las propiedades tal cual). Lo configurado con {@link MappingConfig} tiene
+ * prioridad sobre la anotación.
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface MapFrom {
+
+    /**
+     * @return Nombre de la propiedad del origen. Si es vacío se usa el mismo nombre
+     */
+    String value() default "";
+
+    /**
+     * @return Converter a aplicar, con un constructor sin parámetros. Si es {@link PropertyConverter} no se convierte
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends PropertyConverter> converter() default PropertyConverter.class;
+}
@@ -0,0 +1,21 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+/**
+ * <p>
+ * Implementación de la copia de propiedades entre entities y DTOs usada por {@link DTOUtils} y {@link BaseEntity}.
+ * </p>
+ * <p>
+ * Las implementaciones disponibles están en {@link MappingBackends}, donde también se elige cuál usar por defecto o
+ * para un par de clases en particular. Deben ser thread-safe.
+ * </p>
+ */
+public interface MappingBackend {
+
+    /**
+     * Copia las propiedades de "source" a "target".
+     *
+     * @param source Objeto origen, nunca null
+     * @param target Objeto destino, nunca null
+     */
+    void copy(Object source, Object target);
+}
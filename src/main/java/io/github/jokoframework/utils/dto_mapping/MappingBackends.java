@@ -0,0 +1,196 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import ma.glasnost.orika.MapperFacade;
+import ma.glasnost.orika.MapperFactory;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Implementaciones de {@link MappingBackend} y selección del backend a usar, globalmente o por par de clases:
+ * </p>
+ * <ul>
+ * <li>{@link #ACCESSORS}: {@link BeanCopier}, con getters/setters compilados por par de clases. Es el backend por
+ * defecto.</li>
+ * <li>{@link #SPRING}: {@link BeanUtils#copyProperties(Object, Object)}, el comportamiento original.</li>
+ * <li>{@link #ORIKA}: mappers generados por Orika. A diferencia de los anteriores, Orika copia en profundidad los
+ * objetos anidados y convierte entre tipos compatibles. Desde Java 16 requiere ejecutar con
+ * <code>--add-opens java.base/java.lang=ALL-UNNAMED</code>.</li>
+ * </ul>
+ * <p>
+ * {@link MappingConfig} y las anotaciones {@link MapFrom} e {@link IgnoreMapping} solo se aplican con
+ * {@link #ACCESSORS}: los demás backends copian por nombre y tipo (Orika con su propia configuración).
+ * </p>
+ */
+public final class MappingBackends {
+
+    public static final MappingBackend ACCESSORS = new MappingBackend() {
+        @Override
+        public void copy(Object source, Object target) {
+            BeanCopier.forPair(source.getClass(), target.getClass()).copyProperties(source, target);
+        }
+
+        @Override
+        public String toString() {
+            return "MappingBackend[accessors]";
+        }
+    };
+
+    public static final MappingBackend SPRING = new MappingBackend() {
+        @Override
+        public void copy(Object source, Object target) {
+            BeanUtils.copyProperties(source, target);
+        }
+
+        @Override
+        public String toString() {
+            return "MappingBackend[spring]";
+        }
+    };
+
+    public static final MappingBackend ORIKA = orika(() -> new DefaultMapperFactory.Builder().build());
+
+    private static final ClassValue<ConcurrentMap<Class<?>, MappingBackend>> OVERRIDES =
+            new ClassValue<ConcurrentMap<Class<?>, MappingBackend>>() {
+                @Override
+                protected ConcurrentMap<Class<?>, MappingBackend> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static volatile MappingBackend defaultBackend = ACCESSORS;
+
+    // evita consultar OVERRIDES mientras no se haya registrado ningún par
+    private static volatile boolean hasOverrides;
+
+    private MappingBackends() {
+        //No public constructor
+    }
+
+    /**
+     * Crea un backend de Orika con la configuración (class maps, converters) de la factory indicada. La factory se
+     * crea recién en la primera copia.
+     *
+     * @param factory Proveedor de la MapperFactory
+     * @return Backend que mapea con Orika
+     */
+    public static MappingBackend orika(Supplier<? extends MapperFactory> factory) {
+        return new OrikaBackend(factory);
+    }
+
+    /**
+     * @return Backend usado para los pares de clases sin backend propio
+     */
+    public static MappingBackend getDefault() {
+        return defaultBackend;
+    }
+
+    /**
+     * Cambia el backend usado para los pares de clases sin backend propio.
+     *
+     * @param backend Nuevo backend por defecto
+     */
+    public static void setDefault(MappingBackend backend) {
+        if (backend == null) {
+            throw new IllegalArgumentException("Backend must not be null");
+        }
+        defaultBackend = backend;
+    }
+
+    /**
+     * Asigna un backend para copiar de "sourceClass" a "targetClass". Solo aplica a esas clases exactas, no a sus
+     * subclases. El registro se guarda en la clase origen y retiene a la clase destino y al backend hasta eliminarlo
+     * pasando null; si las clases pertenecen a un classloader que se descarga hay que eliminarlo antes.
+     *
+     * @param sourceClass Clase origen
+     * @param targetClass Clase destino
+     * @param backend Backend a usar, o null para volver a usar el backend por defecto
+     */
+    public static void register(Class<?> sourceClass, Class<?> targetClass, MappingBackend backend) {
+        if (backend == null) {
+            OVERRIDES.get(sourceClass).remove(targetClass);
+        } else {
+            OVERRIDES.get(sourceClass).put(targetClass, backend);
+            hasOverrides = true;
+        }
+    }
+
+    /**
+     * @param sourceClass Clase origen
+     * @param targetClass Clase destino
+     * @return Backend que se usa para copiar de "sourceClass" a "targetClass"
+     */
+    public static MappingBackend forPair(Class<?> sourceClass, Class<?> targetClass) {
+        if (hasOverrides) {
+            MappingBackend backend = OVERRIDES.get(sourceClass).get(targetClass);
+            if (backend != null) {
+                return backend;
+            }
+        }
+        return defaultBackend;
+    }
+
+    /**
+     * Copia las propiedades de "source" a "target" con el backend que corresponde a sus clases.
+     *
+     * @param source Objeto origen
+     * @param target Objeto destino
+     * @param <T> Tipo del destino
+     * @return El mismo "target"
+     * @throws IllegalArgumentException Si alguno de los objetos es null
+     */
+    public static <T> T copy(Object source, T target) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Source and target must not be null");
+        }
+        MappingBackend backend = forPair(source.getClass(), target.getClass());
+        if (backend != ACCESSORS) {
+            MappingConfig.warnIfIgnored(source.getClass(), target.getClass(), backend);
+        }
+        backend.copy(source, target);
+        return target;
+    }
+
+    private static final class OrikaBackend implements MappingBackend {
+
+        private final Supplier<? extends MapperFactory> factory;
+        private volatile MapperFacade facade;
+
+        private OrikaBackend(Supplier<? extends MapperFactory> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public void copy(Object source, Object target) {
+            facade().map(source, target);
+        }
+
+        private MapperFacade facade() {
+            MapperFacade ret = facade;
+            if (ret == null) {
+                synchronized (this) {
+                    ret = facade;
+                    if (ret == null) {
+                        try {
+                            ret = factory.get().getMapperFacade();
+                        } catch (RuntimeException e) {
+                            throw new IllegalStateException("Could not initialize Orika, on Java 16 or later run "
+                                    + "with --add-opens java.base/java.lang=ALL-UNNAMED", e);
+                        }
+                        facade = ret;
+                    }
+                }
+            }
+            return ret;
+        }
+
+        @Override
+        public String toString() {
+            return "MappingBackend[orika]";
+        }
+    }
+}
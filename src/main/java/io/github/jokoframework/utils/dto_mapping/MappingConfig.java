@@ -0,0 +1,293 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Configuración de la copia de propiedades entre un par de clases, para los casos en que los nombres o los tipos no
+ * coinciden:
+ * </p>
+ * <pre>
+ * MappingConfig.between(CustomerEntity.class, CustomerDTO.class)
+ *         .field("birthDate", "birthday", (Date d) -&gt; d.toInstant().toString())
+ *         .convert(Status.class, String.class, Status::getCode)
+ *         .ignore("password")
+ *         .register();
+ * </pre>
+ * <p>
+ * La configuración se aplica al construir el {@link BeanCopier} (o el {@link ConstructorMapper}, para destinos
+ * inmutables) del par, por lo que no tiene costo por copia. {@link #register()} descarta los ya construidos. Lo configurado aquí tiene prioridad sobre las anotaciones
+ * {@link MapFrom} e {@link IgnoreMapping} de la clase destino. Las anotaciones no se aplican cuando el origen y el
+ * destino son de la misma jerarquía, ya que sus propiedades coinciden.
+ * </p>
+ * <p>
+ * La configuración y las anotaciones solo las aplica el backend {@link MappingBackends#ACCESSORS} (el backend por
+ * defecto). Si el par se copia con otro backend se ignoran; para una configuración registrada se loguea un warning la
+ * primera vez.
+ * </p>
+ * <p>
+ * La configuración registrada se guarda en la clase origen y retiene a la clase destino (y a los converters) hasta
+ * llamar a {@link #unregister(Class, Class)}. Si las clases pertenecen a classloaders que se descargan (por ejemplo
+ * una aplicación web) hay que eliminar la configuración al descargarlos.
+ * </p>
+ *
+ * @param <S> Clase origen
+ * @param <T> Clase destino
+ */
+public final class MappingConfig<S, T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappingConfig.class);
+
+    private static final ClassValue<ConcurrentMap<Class<?>, MappingConfig<?, ?>>> REGISTRY =
+            new ClassValue<ConcurrentMap<Class<?>, MappingConfig<?, ?>>>() {
+                @Override
+                protected ConcurrentMap<Class<?>, MappingConfig<?, ?>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Class<S> sourceClass;
+    private final Class<T> targetClass;
+    // propiedad destino -> propiedad origen
+    private final Map<String, String> sources;
+    // propiedad destino -> converter
+    private final Map<String, PropertyConverter<Object, Object>> converters;
+    private final Set<String> ignored;
+    private final List<TypeConverter> typeConverters;
+    // las anotaciones del destino describen cómo copiar desde otra clase, no entre instancias de la misma jerarquía
+    private final boolean annotationsApply;
+    // si ya se advirtió que un backend distinto de ACCESSORS ignora esta configuración
+    private volatile boolean ignoredWarned;
+
+    private MappingConfig(Class<S> sourceClass, Class<T> targetClass) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.annotationsApply = !targetClass.isAssignableFrom(sourceClass) && !sourceClass.isAssignableFrom(targetClass);
+        this.sources = new HashMap<>();
+        this.converters = new HashMap<>();
+        this.ignored = new HashSet<>();
+        this.typeConverters = new ArrayList<>();
+    }
+
+    private MappingConfig(MappingConfig<S, T> other) {
+        this.sourceClass = other.sourceClass;
+        this.targetClass = other.targetClass;
+        this.annotationsApply = other.annotationsApply;
+        this.sources = Collections.unmodifiableMap(new HashMap<>(other.sources));
+        this.converters = Collections.unmodifiableMap(new HashMap<>(other.converters));
+        this.ignored = Collections.unmodifiableSet(new HashSet<>(other.ignored));
+        this.typeConverters = Collections.unmodifiableList(new ArrayList<>(other.typeConverters));
+    }
+
+    /**
+     * @param sourceClass Clase origen
+     * @param targetClass Clase destino
+     * @return Configuración vacía para el par, que se aplica al llamar a {@link #register()}
+     */
+    public static <S, T> MappingConfig<S, T> between(Class<S> sourceClass, Class<T> targetClass) {
+        return new MappingConfig<>(sourceClass, targetClass);
+    }
+
+    /**
+     * Elimina la configuración registrada para el par de clases.
+     *
+     * @param sourceClass Clase origen
+     * @param targetClass Clase destino
+     */
+    public static void unregister(Class<?> sourceClass, Class<?> targetClass) {
+        REGISTRY.get(sourceClass).remove(targetClass);
+        BeanCopier.invalidate(sourceClass, targetClass);
+        ConstructorMapper.invalidate(sourceClass, targetClass);
+    }
+
+    /**
+     * Copia "sourceProperty" del origen en "targetProperty" del destino.
+     *
+     * @param sourceProperty Propiedad del origen
+     * @param targetProperty Propiedad del destino
+     * @return Esta configuración
+     */
+    public MappingConfig<S, T> field(String sourceProperty, String targetProperty) {
+        sources.put(targetProperty, sourceProperty);
+        return this;
+    }
+
+    /**
+     * Copia "sourceProperty" del origen en "targetProperty" del destino, convirtiendo el valor.
+     *
+     * @param sourceProperty Propiedad del origen
+     * @param targetProperty Propiedad del destino
+     * @param converter Conversión del valor, no recibe nulls
+     * @return Esta configuración
+     */
+    public <A, B> MappingConfig<S, T> field(String sourceProperty, String targetProperty,
+                                            PropertyConverter<A, B> converter) {
+        field(sourceProperty, targetProperty);
+        return convert(targetProperty, converter);
+    }
+
+    /**
+     * Convierte el valor al copiar la propiedad "targetProperty".
+     *
+     * @param targetProperty Propiedad del destino
+     * @param converter Conversión del valor, no recibe nulls
+     * @return Esta configuración
+     */
+    @SuppressWarnings("unchecked")
+    public <A, B> MappingConfig<S, T> convert(String targetProperty, PropertyConverter<A, B> converter) {
+        converters.put(targetProperty, (PropertyConverter<Object, Object>) converter);
+        return this;
+    }
+
+    /**
+     * Convierte los valores de las propiedades de tipo "sourceType" que se copian a propiedades de tipo
+     * "targetType". Solo se usa cuando los tipos no son asignables y la propiedad no tiene un converter propio.
+     *
+     * @param sourceType Tipo de la propiedad origen (o una superclase)
+     * @param targetType Tipo de la propiedad destino (o una subclase)
+     * @param converter Conversión del valor, no recibe nulls
+     * @return Esta configuración
+     */
+    @SuppressWarnings("unchecked")
+    public <A, B> MappingConfig<S, T> convert(Class<A> sourceType, Class<B> targetType,
+                                              PropertyConverter<? super A, ? extends B> converter) {
+        typeConverters.add(new TypeConverter(sourceType, targetType, (PropertyConverter<Object, Object>) converter));
+        return this;
+    }
+
+    /**
+     * No escribe las propiedades indicadas del destino.
+     *
+     * @param targetProperties Propiedades del destino
+     * @return Esta configuración
+     */
+    public MappingConfig<S, T> ignore(String... targetProperties) {
+        Collections.addAll(ignored, targetProperties);
+        return this;
+    }
+
+    /**
+     * Registra la configuración para el par de clases, reemplazando la anterior si existía, y descarta el copier (y el
+     * mapper por constructor) ya construido. Modificar esta instancia luego de registrarla no tiene efecto.
+     */
+    public void register() {
+        REGISTRY.get(sourceClass).put(targetClass, new MappingConfig<>(this));
+        BeanCopier.invalidate(sourceClass, targetClass);
+        ConstructorMapper.invalidate(sourceClass, targetClass);
+    }
+
+    /**
+     * @return La configuración registrada para el par, o una vacía que solo aplica las anotaciones del destino
+     */
+    static MappingConfig<?, ?> forPair(Class<?> sourceClass, Class<?> targetClass) {
+        MappingConfig<?, ?> ret = REGISTRY.get(sourceClass).get(targetClass);
+        return ret != null ? ret : new MappingConfig<>(sourceClass, targetClass);
+    }
+
+    /**
+     * Advierte, una única vez por configuración registrada, que "backend" no aplica la configuración del par.
+     */
+    static void warnIfIgnored(Class<?> sourceClass, Class<?> targetClass, MappingBackend backend) {
+        MappingConfig<?, ?> config = REGISTRY.get(sourceClass).get(targetClass);
+        if (config != null && !config.ignoredWarned) {
+            config.ignoredWarned = true;
+            LOGGER.warn("The MappingConfig registered for {} -> {} is ignored by {}, it only applies to {}",
+                    sourceClass.getName(), targetClass.getName(), backend, MappingBackends.ACCESSORS);
+        }
+    }
+
+    boolean isIgnored(PropertyDescriptor targetPd) {
+        return isIgnored(targetPd.getName(), targetPd.getWriteMethod());
+    }
+
+    String sourcePropertyFor(PropertyDescriptor targetPd) {
+        return sourcePropertyFor(targetPd.getName(), targetPd.getWriteMethod());
+    }
+
+    PropertyConverter<Object, Object> converterFor(PropertyDescriptor targetPd) {
+        return converterFor(targetPd.getName(), targetPd.getWriteMethod());
+    }
+
+    /**
+     * @param targetProperty Propiedad (o parámetro del constructor) del destino
+     * @param writeMethod Setter de la propiedad, o null si no tiene
+     */
+    boolean isIgnored(String targetProperty, Method writeMethod) {
+        return ignored.contains(targetProperty)
+                || findAnnotation(targetProperty, writeMethod, IgnoreMapping.class) != null;
+    }
+
+    String sourcePropertyFor(String targetProperty, Method writeMethod) {
+        String ret = sources.get(targetProperty);
+        if (ret == null) {
+            MapFrom mapFrom = findAnnotation(targetProperty, writeMethod, MapFrom.class);
+            ret = mapFrom != null && !mapFrom.value().isEmpty() ? mapFrom.value() : targetProperty;
+        }
+        return ret;
+    }
+
+    @SuppressWarnings("unchecked")
+    PropertyConverter<Object, Object> converterFor(String targetProperty, Method writeMethod) {
+        PropertyConverter<Object, Object> ret = converters.get(targetProperty);
+        if (ret == null) {
+            MapFrom mapFrom = findAnnotation(targetProperty, writeMethod, MapFrom.class);
+            if (mapFrom != null && mapFrom.converter() != PropertyConverter.class) {
+                ret = (PropertyConverter<Object, Object>) BeanInstantiator.forClass(mapFrom.converter()).newInstance();
+            }
+        }
+        return ret;
+    }
+
+    PropertyConverter<Object, Object> typeConverterFor(Class<?> sourceType, Class<?> targetType) {
+        for (TypeConverter typeConverter : typeConverters) {
+            if (ClassUtils.isAssignable(typeConverter.sourceType, sourceType)
+                    && ClassUtils.isAssignable(targetType, typeConverter.targetType)) {
+                return typeConverter.converter;
+            }
+        }
+        return null;
+    }
+
+    private <A extends Annotation> A findAnnotation(String targetProperty, Method writeMethod,
+                                                   Class<A> annotationType) {
+        if (!annotationsApply) {
+            return null;
+        }
+        Field field = ReflectionUtils.findField(targetClass, targetProperty);
+        A ret = field != null ? field.getAnnotation(annotationType) : null;
+        if (ret == null && writeMethod != null) {
+            ret = writeMethod.getAnnotation(annotationType);
+        }
+        return ret;
+    }
+
+    private static final class TypeConverter {
+
+        private final Class<?> sourceType;
+        private final Class<?> targetType;
+        private final PropertyConverter<Object, Object> converter;
+
+        private TypeConverter(Class<?> sourceType, Class<?> targetType, PropertyConverter<Object, Object> converter) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.converter = converter;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+/**
+ * Convierte el valor de una propiedad del origen al tipo de la propiedad destino, por ejemplo un Date a String o un
+ * enum a su código. Se usa en {@link MappingConfig} y {@link MapFrom}; los valores null no se convierten.
+ *
+ * @param <S> Tipo de la propiedad origen
+ * @param <T> Tipo de la propiedad destino
+ */
+@FunctionalInterface
+public interface PropertyConverter<S, T> {
+
+    T convert(S value);
+}
@@ -0,0 +1,258 @@
+package io.github.jokoframework.utils.process;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Ejecuta comandos del sistema operativo con {@link ProcessBuilder}, entregando la salida línea por línea a un
+ * {@link Consumer} en lugar de acumularla en memoria.
+ * </p>
+ * <p>
+ * La salida estándar y la de error se leen en paralelo, por lo que un proceso que escribe mucho en stderr no queda
+ * bloqueado con el pipe lleno. Cada ejecución admite un timeout, al vencerse el proceso y los procesos que haya
+ * lanzado se destruyen. Los consumers de stdout y stderr se invocan desde hilos distintos.
+ * </p>
+ * <p>
+ * Para ejecutar un comando en el hilo actual se usa {@link #execute(List, Consumer, Consumer, long, TimeUnit)}. Para
+ * ejecutar muchos comandos se crea una instancia con la cantidad máxima de comandos simultáneos y se usa
+ * {@link #submit(List, Consumer, Consumer, long, TimeUnit)}; cancelar el {@link Future} retornado destruye el proceso.
+ * </p>
+ */
+public class ProcessRunner implements AutoCloseable {
+
+    private static final ThreadPoolExecutor DRAINERS =
+            (ThreadPoolExecutor) Executors.newCachedThreadPool(daemonThreads("joko-process-drain"));
+
+    // tiempo que se espera a que el proceso termine luego de pedirle que finalice, antes de forzarlo
+    private static final long DESTROY_GRACE_MILLIS = 500;
+
+    private final ExecutorService commands;
+
+    /**
+     * @param maxConcurrentCommands Cantidad máxima de comandos ejecutándose a la vez, el resto espera en cola
+     */
+    public ProcessRunner(int maxConcurrentCommands) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentCommands, maxConcurrentCommands,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemonThreads("joko-process-runner"));
+        executor.allowCoreThreadTimeOut(true);
+        this.commands = executor;
+    }
+
+    /**
+     * Encola la ejecución de "command".
+     *
+     * @param command Comando y sus argumentos
+     * @param stdout Receptor de cada línea de la salida estándar, null para descartarla
+     * @param stderr Receptor de cada línea de la salida de error, null para descartarla
+     * @param timeout Tiempo máximo de ejecución, 0 o negativo para no limitar
+     * @param unit Unidad de "timeout"
+     * @return Future con el código de salida del proceso
+     */
+    public Future<Integer> submit(List<String> command, Consumer<String> stdout, Consumer<String> stderr,
+                                  long timeout, TimeUnit unit) {
+        return submit(new ProcessBuilder(command), stdout, stderr, timeout, unit);
+    }
+
+    /**
+     * Encola la ejecución del proceso configurado en "builder" (directorio, variables de entorno, etc.).
+     *
+     * @see #submit(List, Consumer, Consumer, long, TimeUnit)
+     */
+    public Future<Integer> submit(ProcessBuilder builder, Consumer<String> stdout, Consumer<String> stderr,
+                                  long timeout, TimeUnit unit) {
+        return commands.submit(() -> execute(builder, stdout, stderr, timeout, unit));
+    }
+
+    /**
+     * Ejecuta "command" en el hilo actual y espera a que termine.
+     *
+     * @param command Comando y sus argumentos
+     * @param stdout Receptor de cada línea de la salida estándar, null para descartarla
+     * @param stderr Receptor de cada línea de la salida de error, null para descartarla
+     * @param timeout Tiempo máximo de ejecución, 0 o negativo para no limitar
+     * @param unit Unidad de "timeout"
+     * @return Código de salida del proceso
+     * @throws IOException Si el proceso no puede iniciarse o falla la lectura de su salida
+     * @throws InterruptedException Si el hilo es interrumpido; el proceso se destruye
+     * @throws TimeoutException Si se vence el timeout; el proceso se destruye
+     */
+    public static int execute(List<String> command, Consumer<String> stdout, Consumer<String> stderr,
+                              long timeout, TimeUnit unit) throws IOException, InterruptedException, TimeoutException {
+        return execute(new ProcessBuilder(command), stdout, stderr, timeout, unit);
+    }
+
+    /**
+     * Ejecuta el proceso configurado en "builder" en el hilo actual y espera a que termine. "builder" no se modifica.
+     *
+     * @see #execute(List, Consumer, Consumer, long, TimeUnit)
+     */
+    public static int execute(ProcessBuilder builder, Consumer<String> stdout, Consumer<String> stderr,
+                              long timeout, TimeUnit unit) throws IOException, InterruptedException, TimeoutException {
+        ProcessBuilder started = builder;
+        if (stdout == null || stderr == null) {
+            // Se trabaja sobre una copia para no cambiar las redirecciones del builder recibido
+            started = copyOf(builder);
+            if (stdout == null) {
+                started.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+            }
+            if (stderr == null) {
+                started.redirectError(ProcessBuilder.Redirect.DISCARD);
+            }
+        }
+        long deadline = timeout > 0 ? System.nanoTime() + unit.toNanos(timeout) : Long.MAX_VALUE;
+        Process process = started.start();
+        Future<?> outDrain = null;
+        Future<?> errDrain = null;
+        try {
+            process.getOutputStream().close();
+            if (stdout != null) {
+                outDrain = DRAINERS.submit(() -> drain(process.getInputStream(), stdout));
+            }
+            if (stderr != null) {
+                errDrain = DRAINERS.submit(() -> drain(process.getErrorStream(), stderr));
+            }
+            if (timeout > 0) {
+                if (!process.waitFor(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException("Command timed out: " + builder.command());
+                }
+            } else {
+                process.waitFor();
+            }
+            awaitDrain(outDrain, deadline, builder);
+            awaitDrain(errDrain, deadline, builder);
+            return process.exitValue();
+        } finally {
+            if (process.isAlive()) {
+                destroy(process);
+            }
+            if (outDrain != null) {
+                outDrain.cancel(true);
+            }
+            if (errDrain != null) {
+                errDrain.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Cancela los comandos en ejecución (destruyendo sus procesos) y los encolados.
+     */
+    @Override
+    public void close() {
+        commands.shutdownNow();
+    }
+
+    /**
+     * Número de hilos leyendo la salida de algún proceso.
+     */
+    static int activeDrains() {
+        return DRAINERS.getActiveCount();
+    }
+
+    private static ProcessBuilder copyOf(ProcessBuilder builder) {
+        ProcessBuilder ret = new ProcessBuilder(builder.command())
+                .directory(builder.directory())
+                .redirectInput(builder.redirectInput())
+                .redirectOutput(builder.redirectOutput())
+                .redirectError(builder.redirectError())
+                .redirectErrorStream(builder.redirectErrorStream());
+        Map<String, String> environment = ret.environment();
+        environment.clear();
+        environment.putAll(builder.environment());
+        return ret;
+    }
+
+    /**
+     * Pide al proceso que finalice y, si no lo hace en {@link #DESTROY_GRACE_MILLIS}, lo fuerza. También destruye los
+     * procesos que haya lanzado, que pueden tener abiertos los pipes de su salida, y cierra los pipes para que los
+     * hilos que los leen no queden bloqueados.
+     */
+    private static void destroy(Process process) {
+        // Se obtienen antes de destruir el proceso, luego dejan de ser sus descendientes
+        List<ProcessHandle> descendants = process.descendants().collect(Collectors.toList());
+        process.destroy();
+        try {
+            if (!process.waitFor(DESTROY_GRACE_MILLIS, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        descendants.forEach(ProcessHandle::destroyForcibly);
+        closeQuietly(process.getInputStream());
+        closeQuietly(process.getErrorStream());
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // el proceso ya fue destruido, no hay nada más que hacer
+        }
+    }
+
+    private static Void drain(InputStream stream, Consumer<String> consumer) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, Charset.defaultCharset()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                consumer.accept(line);
+            }
+        }
+        return null;
+    }
+
+    private static void awaitDrain(Future<?> drain, long deadline, ProcessBuilder builder)
+            throws IOException, InterruptedException, TimeoutException {
+        if (drain == null) {
+            return;
+        }
+        try {
+            if (deadline == Long.MAX_VALUE) {
+                drain.get();
+            } else {
+                drain.get(remaining(deadline), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Couldn't read the output of " + builder.command(), cause);
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0L, deadline - System.nanoTime());
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,240 @@
+package io.github.jokoframework.utils.reflection;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * <p>
+ * Genera la descripción de un objeto con el formato de {@link ReflectionUtils#describe(Object)}:
+ * <code>&lt;Clase hashCode:123 &gt;{prop=valor}; {otra=valor}{nulas, = null}; Class: paquete.Clase&lt;/Clase&gt;</code>
+ * </p>
+ * <p>
+ * Por cada clase se precalculan una única vez los fragmentos fijos del texto y los {@link PropertyAccessor} a leer,
+ * de modo que describir un objeto solo lee los valores y concatena. El texto se escribe en un {@link Appendable}
+ * provisto por el llamador o en un StringBuilder reutilizado por hilo.
+ * </p>
+ * <p>
+ * Opcionalmente se puede limitar:
+ * </p>
+ * <ul>
+ * <li>maxDepth: cuántos niveles de beans anidados se describen recursivamente en lugar de usar su toString().</li>
+ * <li>maxLength: cantidad máxima de caracteres; si se supera se corta el texto y se agrega "...".</li>
+ * </ul>
+ */
+public final class BeanDescriber {
+
+	/**
+	 * Valor para maxLength que indica que no hay límite
+	 */
+	public static final int UNLIMITED = 0;
+
+	private static final String TRUNCATED = "...";
+
+	// evita que un builder que creció por un objeto muy grande quede retenido por el hilo
+	private static final int MAX_RETAINED_CAPACITY = 8 * 1024;
+
+	private static final ClassValue<Template> TEMPLATES = new ClassValue<Template>() {
+		@Override
+		protected Template computeValue(Class<?> type) {
+			return new Template(type);
+		}
+	};
+
+	private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+	private BeanDescriber() {
+		//No public constructor
+	}
+
+	/**
+	 * Describe "bean" retornando un String.
+	 *
+	 * @param bean Objeto a describir
+	 * @param withHash True si se quiere que se muestre con el hashCode, sino False
+	 * @param maxDepth Niveles de beans anidados a describir recursivamente, 0 para usar siempre toString()
+	 * @param maxLength Cantidad máxima de caracteres antes de "...", {@link #UNLIMITED} para no cortar
+	 * @return Descripción del objeto
+	 */
+	public static String describe(Object bean, boolean withHash, int maxDepth, int maxLength) {
+		Buffer buffer = BUFFER.get();
+		StringBuilder sb = buffer.acquire();
+		try {
+			append(bean, sb, withHash, maxDepth, maxLength);
+			return sb.toString();
+		} finally {
+			buffer.release(sb);
+		}
+	}
+
+	/**
+	 * Describe "bean" escribiendo en "out". Si "out" es un {@link StringBuilder} se escribe directamente en él.
+	 *
+	 * @param bean Objeto a describir
+	 * @param out Destino del texto
+	 * @param withHash True si se quiere que se muestre con el hashCode, sino False
+	 * @param maxDepth Niveles de beans anidados a describir recursivamente, 0 para usar siempre toString()
+	 * @param maxLength Cantidad máxima de caracteres antes de "...", {@link #UNLIMITED} para no cortar
+	 * @throws IOException Si falla la escritura en "out"
+	 */
+	public static void describeTo(Object bean, Appendable out, boolean withHash, int maxDepth, int maxLength)
+			throws IOException {
+		if (out instanceof StringBuilder) {
+			append(bean, (StringBuilder) out, withHash, maxDepth, maxLength);
+			return;
+		}
+		Buffer buffer = BUFFER.get();
+		StringBuilder sb = buffer.acquire();
+		try {
+			append(bean, sb, withHash, maxDepth, maxLength);
+			out.append(sb);
+		} finally {
+			buffer.release(sb);
+		}
+	}
+
+	private static void append(Object bean, StringBuilder sb, boolean withHash, int maxDepth, int maxLength) {
+		int start = sb.length();
+		long limit = maxLength > 0 ? (long) start + maxLength : Long.MAX_VALUE;
+		try {
+			TEMPLATES.get(bean.getClass()).append(bean, sb, withHash, maxDepth, limit);
+		} catch (RuntimeException e) {
+			sb.setLength(start);
+			throw e;
+		}
+		if (sb.length() > limit) {
+			sb.setLength((int) limit);
+			sb.append(TRUNCATED);
+		}
+	}
+
+	/**
+	 * Retorna true si el valor debe describirse recursivamente en lugar de usar su toString().
+	 */
+	private static boolean isDescribable(Object value) {
+		Class<?> clazz = value.getClass();
+		return !(clazz.isArray() || clazz.isEnum() || value instanceof CharSequence || value instanceof Number
+				|| value instanceof Boolean || value instanceof Character || value instanceof Date
+				|| value instanceof Collection || value instanceof Map || clazz.getName().startsWith("java"));
+	}
+
+	/**
+	 * Fragmentos precalculados de una clase.
+	 */
+	private static final class Template {
+
+		private final String open;
+		private final String close;
+		private final PropertyAccessor[] accessors;
+		private final String[] valuePrefixes;
+		private final String[] valueSuffixes;
+		private final String[] nullNames;
+
+		private Template(Class<?> clazz) {
+			String name = clazz.getSimpleName();
+			this.open = "<" + name;
+			this.close = "; Class: " + clazz.getName() + "</" + name + ">";
+			BeanMetadata metadata = BeanMetadata.forClass(clazz);
+			PropertyDescriptor[] descs = metadata.descriptors();
+			int count = 0;
+			for (PropertyDescriptor pd : descs) {
+				if (!pd.getName().equalsIgnoreCase("class")) {
+					count++;
+				}
+			}
+			this.accessors = new PropertyAccessor[count];
+			this.valuePrefixes = new String[count];
+			this.valueSuffixes = new String[count];
+			this.nullNames = new String[count];
+			int j = 0;
+			for (int i = 0; i < descs.length; i++) {
+				PropertyDescriptor pd = descs[i];
+				if (pd.getName().equalsIgnoreCase("class")) {
+					continue;
+				}
+				String propertyName = pd.getName();
+				// solo se leen las propiedades lectura/escritura, el resto se lista como null
+				if (pd.getReadMethod() != null && pd.getWriteMethod() != null) {
+					accessors[j] = metadata.getAccessor(propertyName);
+				}
+				valuePrefixes[j] = "{" + propertyName + "=";
+				// se mantiene el criterio historico de separador, basado en la posicion entre todos los descriptores
+				valueSuffixes[j] = (i + 1) < (descs.length - 1) ? "}; " : "}";
+				nullNames[j] = propertyName + ",";
+				j++;
+			}
+		}
+
+		private void append(Object bean, StringBuilder sb, boolean withHash, int depth, long limit) {
+			sb.append(open);
+			if (withHash) {
+				sb.append(" hashCode:").append(bean.hashCode());
+			}
+			sb.append(" >");
+			long nulls = 0L;
+			long[] moreNulls = accessors.length > Long.SIZE ? new long[(accessors.length - 1) / Long.SIZE] : null;
+			boolean anyNull = false;
+			for (int i = 0; i < accessors.length && sb.length() <= limit; i++) {
+				Object val = accessors[i] != null ? accessors[i].get(bean) : null;
+				if (val != null) {
+					sb.append(valuePrefixes[i]);
+					if (depth > 0 && isDescribable(val)) {
+						TEMPLATES.get(val.getClass()).append(val, sb, withHash, depth - 1, limit);
+					} else {
+						sb.append(val.toString());
+					}
+					sb.append(valueSuffixes[i]);
+				} else {
+					anyNull = true;
+					if (i < Long.SIZE) {
+						nulls |= 1L << i;
+					} else {
+						moreNulls[i / Long.SIZE - 1] |= 1L << (i % Long.SIZE);
+					}
+				}
+			}
+			if (anyNull && sb.length() <= limit) {
+				sb.append('{');
+				for (int i = 0; i < accessors.length; i++) {
+					boolean isNull = i < Long.SIZE ? (nulls & (1L << i)) != 0
+							: (moreNulls[i / Long.SIZE - 1] & (1L << (i % Long.SIZE))) != 0;
+					if (isNull) {
+						sb.append(nullNames[i]);
+					}
+				}
+				sb.append(" = null}");
+			}
+			sb.append(close);
+		}
+	}
+
+	/**
+	 * StringBuilder reutilizable por hilo. Si ya está en uso (por ejemplo un toString() que vuelve a llamar a
+	 * describe) se entrega uno nuevo.
+	 */
+	private static final class Buffer {
+
+		private StringBuilder sb = new StringBuilder(256);
+		private boolean inUse;
+
+		private StringBuilder acquire() {
+			if (inUse) {
+				return new StringBuilder(256);
+			}
+			inUse = true;
+			sb.setLength(0);
+			return sb;
+		}
+
+		private void release(StringBuilder used) {
+			if (used == sb) {
+				if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+					sb = new StringBuilder(256);
+				}
+				inUse = false;
+			}
+		}
+	}
+}
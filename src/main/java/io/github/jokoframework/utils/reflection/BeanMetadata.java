@@ -0,0 +1,273 @@
+package io.github.jokoframework.utils.reflection;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.core.ResolvableType;
+
+/**
+ * <p>
+ * Metadatos de las propiedades de una clase: los {@link PropertyDescriptor} ya ordenados y un índice por nombre de
+ * propiedad con sus {@link PropertyAccessor} compilados.
+ * </p>
+ * <p>
+ * Los metadatos se calculan una única vez por clase y se guardan en un {@link ClassValue}, por lo que el acceso es
+ * thread-safe y no requiere sincronización. Como el valor queda asociado a la propia {@link Class}, se libera junto
+ * con su classloader cuando este se descarga (por ejemplo en un hot-redeploy), sin retener referencias.
+ * </p>
+ */
+public final class BeanMetadata {
+
+	private static final ClassValue<BeanMetadata> CACHE = new ClassValue<BeanMetadata>() {
+		@Override
+		protected BeanMetadata computeValue(Class<?> type) {
+			return new BeanMetadata(type);
+		}
+	};
+
+	// hack so that it always shows the "id" first
+	private static final Comparator<PropertyDescriptor> ID_FIRST = (o1, o2) -> {
+		int ret;
+		if (o1.getName().equals("id")) {
+			ret = -1;
+		} else if (o2.getName().equals("id")) {
+			ret = 1;
+		} else {
+			ret = o1.getName().compareTo(o2.getName());
+		}
+		return ret;
+	};
+
+	private final Class<?> beanClass;
+	private final PropertyDescriptor[] descriptors;
+	private final Map<String, PropertyDescriptor> index;
+	private final String[] readWriteFields;
+	private volatile Map<String, PropertyAccessor> accessors;
+	private final ConcurrentMap<String, PropertyPath> paths = new ConcurrentHashMap<>();
+	private volatile FieldType[] fieldTypes;
+
+	private BeanMetadata(Class<?> beanClass) throws IllegalStateException {
+		this.beanClass = beanClass;
+		try {
+			this.descriptors = Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+		} catch (IntrospectionException e) {
+			throw new IllegalStateException(e);
+		}
+		Arrays.sort(descriptors, ID_FIRST);
+		Map<String, PropertyDescriptor> byName = new HashMap<>(descriptors.length * 2);
+		List<String> rw = new ArrayList<>(descriptors.length);
+		for (PropertyDescriptor pd : descriptors) {
+			byName.put(pd.getName(), pd);
+			if (pd.getReadMethod() != null && pd.getWriteMethod() != null) {
+				rw.add(pd.getName());
+			}
+		}
+		this.index = Collections.unmodifiableMap(byName);
+		this.readWriteFields = rw.toArray(new String[0]);
+	}
+
+	/**
+	 * Retorna los metadatos de la clase "clazz", calculándolos la primera vez que se piden.
+	 *
+	 * @param clazz Clase a analizar
+	 * @return Metadatos de la clase
+	 * @throws IllegalStateException Si la clase no puede ser introspeccionada
+	 */
+	public static BeanMetadata forClass(Class<?> clazz) throws IllegalStateException {
+		return CACHE.get(clazz);
+	}
+
+	/**
+	 * Descarta los metadatos guardados para la clase "clazz", incluyendo el cache interno de {@link Introspector}.
+	 * Útil si la clase fue redefinida en caliente; la siguiente consulta los vuelve a calcular.
+	 *
+	 * @param clazz Clase cuyos metadatos se descartan
+	 */
+	public static void invalidate(Class<?> clazz) {
+		CACHE.remove(clazz);
+		Introspector.flushFromCaches(clazz);
+	}
+
+	/**
+	 * @return Clase a la que pertenecen los metadatos
+	 */
+	public Class<?> getBeanClass() {
+		return beanClass;
+	}
+
+	/**
+	 * Retorna una copia de los PropertyDescriptor de la clase ordenados por nombre, con "id" siempre primero.
+	 *
+	 * @return PropertyDescriptors de la clase
+	 */
+	public PropertyDescriptor[] getPropertyDescriptors() {
+		return descriptors.clone();
+	}
+
+	/**
+	 * Retorna el PropertyDescriptor de la propiedad "fieldName".
+	 *
+	 * @param fieldName Nombre de la propiedad
+	 * @return PropertyDescriptor o <code>null</code> si la clase no tiene esa propiedad
+	 */
+	public PropertyDescriptor getPropertyDescriptor(String fieldName) {
+		return index.get(fieldName);
+	}
+
+	/**
+	 * Retorna el accessor compilado de la propiedad "fieldName". Los accessors de la clase se compilan todos juntos
+	 * la primera vez que se pide alguno.
+	 *
+	 * @param fieldName Nombre de la propiedad
+	 * @return PropertyAccessor o <code>null</code> si la clase no tiene esa propiedad
+	 */
+	public PropertyAccessor getAccessor(String fieldName) {
+		Map<String, PropertyAccessor> ret = accessors;
+		if (ret == null) {
+			// si dos hilos compilan a la vez ambos resultados son equivalentes, se queda el último
+			Map<String, PropertyAccessor> compiled = new HashMap<>(descriptors.length * 2);
+			for (PropertyDescriptor pd : descriptors) {
+				compiled.put(pd.getName(), new PropertyAccessor(pd));
+			}
+			ret = Collections.unmodifiableMap(compiled);
+			accessors = ret;
+		}
+		return ret.get(fieldName);
+	}
+
+	/**
+	 * Retorna la ruta "path" compilada, reutilizando la compilación previa si existe. Las rutas se guardan junto con
+	 * los metadatos de la clase raíz, por lo que se liberan con ella.
+	 *
+	 * @param path Ruta con los nombres de propiedades separados por punto, a partir de esta clase
+	 * @return Ruta compilada
+	 * @throws IllegalArgumentException Si la ruta no es válida
+	 */
+	public PropertyPath getPropertyPath(String path) {
+		PropertyPath ret = paths.get(path);
+		if (ret == null) {
+			ret = PropertyPath.compile(path);
+			PropertyPath previous = paths.putIfAbsent(path, ret);
+			if (previous != null) {
+				ret = previous;
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Retorna las propiedades lectura/escritura respaldadas por un atributo (declarado en la clase o heredado) que no
+	 * es una {@link Collection} y cuyo tipo es asignable a "type". Se filtra el índice de tipos cacheado; el resultado
+	 * no se cachea por tipo consultado para no retener clases de otros classloaders.
+	 *
+	 * @param type Tipo buscado
+	 * @return Lista inmutable de nombres de propiedades, en el orden de {@link #getPropertyDescriptors()}
+	 */
+	public List<String> getFieldsAssignableTo(Class<?> type) {
+		List<String> found = new ArrayList<>();
+		for (FieldType ft : fieldTypes()) {
+			if (ft.elementType == null && type.isAssignableFrom(ft.type)) {
+				found.add(ft.name);
+			}
+		}
+		return Collections.unmodifiableList(found);
+	}
+
+	/**
+	 * Retorna las propiedades lectura/escritura respaldadas por un atributo (declarado en la clase o heredado) de tipo
+	 * {@link Collection} cuyo tipo de elemento, según su declaración genérica, es asignable a "elementType". Igual que
+	 * {@link #getFieldsAssignableTo(Class)}, el resultado no se cachea por tipo consultado.
+	 *
+	 * @param elementType Tipo de elemento buscado
+	 * @return Lista inmutable de nombres de propiedades, en el orden de {@link #getPropertyDescriptors()}
+	 */
+	public List<String> getCollectionFieldsOf(Class<?> elementType) {
+		List<String> found = new ArrayList<>();
+		for (FieldType ft : fieldTypes()) {
+			if (ft.elementType != null && elementType.isAssignableFrom(ft.elementType)) {
+				found.add(ft.name);
+			}
+		}
+		return Collections.unmodifiableList(found);
+	}
+
+	/**
+	 * Índice de tipos de las propiedades lectura/escritura con atributo, calculado la primera vez que se consulta.
+	 */
+	private FieldType[] fieldTypes() {
+		FieldType[] ret = fieldTypes;
+		if (ret == null) {
+			Map<String, Field> fields = new HashMap<>();
+			for (Class<?> c = beanClass; c != null && !Object.class.equals(c); c = c.getSuperclass()) {
+				for (Field field : c.getDeclaredFields()) {
+					// el atributo de la subclase oculta al de la superclase
+					fields.putIfAbsent(field.getName(), field);
+				}
+			}
+			List<FieldType> types = new ArrayList<>(readWriteFields.length);
+			for (String name : readWriteFields) {
+				Field field = fields.get(name);
+				if (field != null) {
+					types.add(new FieldType(name, ResolvableType.forField(field, beanClass)));
+				}
+			}
+			ret = types.toArray(new FieldType[0]);
+			fieldTypes = ret;
+		}
+		return ret;
+	}
+
+	/**
+	 * Retorna los nombres de las propiedades que tienen getter y setter, en el mismo orden que
+	 * {@link #getPropertyDescriptors()}.
+	 *
+	 * @return Nombres de las propiedades lectura/escritura
+	 */
+	public String[] getReadWriteFields() {
+		return readWriteFields.clone();
+	}
+
+	/**
+	 * Acceso sin copia para uso interno del paquete; el array no debe modificarse.
+	 */
+	PropertyDescriptor[] descriptors() {
+		return descriptors;
+	}
+
+	/**
+	 * Acceso sin copia para uso interno del paquete; el array no debe modificarse.
+	 */
+	String[] readWriteFields() {
+		return readWriteFields;
+	}
+
+	private static final class FieldType {
+
+		private final String name;
+		private final Class<?> type;
+		// tipo de elemento si el atributo es una Collection, sino null
+		private final Class<?> elementType;
+
+		private FieldType(String name, ResolvableType resolvableType) {
+			this.name = name;
+			this.type = resolvableType.toClass();
+			if (Collection.class.isAssignableFrom(type)) {
+				this.elementType = resolvableType.asCollection().getGeneric(0).toClass();
+			} else {
+				this.elementType = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package io.github.jokoframework.utils.reflection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * Proyección de un conjunto de atributos de una clase en filas <code>Object[]</code>, pensada para exportar listas de
+ * beans (CSV, Excel, reportes) sin repetir la búsqueda de getters por cada celda.
+ * </p>
+ * <p>
+ * Los getters se resuelven una única vez al crear la proyección (ver {@link PropertyAccessor}); los atributos pueden
+ * ser anidados (<code>"customer.address.city"</code>), en cuyo caso se leen con un {@link PropertyPath} y son
+ * null-safe. Las instancias son inmutables y pueden compartirse entre hilos.
+ * </p>
+ * <pre>
+ * BeanProjection&lt;CustomerEntity&gt; projection = BeanProjection.of(CustomerEntity.class, "id", "firstName");
+ * projection.forEach(customers, row -&gt; writer.writeNext(row));
+ * </pre>
+ *
+ * @param <T> Tipo de los beans a proyectar
+ */
+public final class BeanProjection<T> {
+
+	private final Class<T> beanClass;
+	private final List<String> fields;
+	private final Function<Object, Object>[] readers;
+
+	@SuppressWarnings("unchecked")
+	private BeanProjection(Class<T> beanClass, List<String> fields) throws IllegalStateException {
+		this.beanClass = beanClass;
+		this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+		this.readers = new Function[fields.size()];
+		BeanMetadata metadata = BeanMetadata.forClass(beanClass);
+		for (int i = 0; i < readers.length; i++) {
+			String fieldName = fields.get(i);
+			if (fieldName.indexOf('.') >= 0) {
+				readers[i] = metadata.getPropertyPath(fieldName)::get;
+			} else {
+				PropertyAccessor accessor = metadata.getAccessor(fieldName);
+				if (accessor == null || !accessor.isReadable()) {
+					throw new IllegalStateException(new NoSuchFieldException("Couldn't found the field "
+							+ fieldName + " in " + beanClass.getName()));
+				}
+				readers[i] = accessor.getter();
+			}
+		}
+	}
+
+	/**
+	 * Crea la proyección de los atributos "fields" de la clase "beanClass".
+	 *
+	 * @param beanClass Clase de los beans
+	 * @param fields Atributos a leer, en el orden de las columnas
+	 * @param <T> Tipo de los beans
+	 * @return Proyección
+	 * @throws IllegalStateException Si algún atributo no existe o no tiene getter
+	 */
+	public static <T> BeanProjection<T> of(Class<T> beanClass, List<String> fields) throws IllegalStateException {
+		return new BeanProjection<>(beanClass, fields);
+	}
+
+	/**
+	 * @see #of(Class, List)
+	 */
+	public static <T> BeanProjection<T> of(Class<T> beanClass, String... fields) throws IllegalStateException {
+		return new BeanProjection<>(beanClass, Arrays.asList(fields));
+	}
+
+	public Class<T> getBeanClass() {
+		return beanClass;
+	}
+
+	/**
+	 * @return Atributos proyectados, en el orden de las columnas
+	 */
+	public List<String> getFields() {
+		return fields;
+	}
+
+	/**
+	 * @return Cantidad de columnas de cada fila
+	 */
+	public int size() {
+		return readers.length;
+	}
+
+	/**
+	 * Lee los atributos de "bean" en una nueva fila.
+	 *
+	 * @param bean Objeto a leer, no puede ser null
+	 * @return Fila con los valores en el orden de {@link #getFields()}
+	 */
+	public Object[] project(T bean) {
+		return project(bean, new Object[readers.length]);
+	}
+
+	/**
+	 * Lee los atributos de "bean" en la fila "row" proveída, que puede reutilizarse entre llamadas.
+	 *
+	 * @param bean Objeto a leer, no puede ser null
+	 * @param row Fila destino, de largo al menos {@link #size()}
+	 * @return La misma fila "row"
+	 */
+	public Object[] project(T bean, Object[] row) {
+		for (int i = 0; i < readers.length; i++) {
+			row[i] = readers[i].apply(bean);
+		}
+		return row;
+	}
+
+	/**
+	 * Proyecta todos los beans de "beans" en una lista de filas nuevas.
+	 *
+	 * @param beans Beans a leer
+	 * @return Lista de filas en el mismo orden que "beans"
+	 */
+	public List<Object[]> projectAll(Collection<? extends T> beans) {
+		List<Object[]> ret = new ArrayList<>(beans.size());
+		for (T bean : beans) {
+			ret.add(project(bean));
+		}
+		return ret;
+	}
+
+	/**
+	 * Retorna un Stream lazy con una fila nueva por cada bean de "beans".
+	 *
+	 * @param beans Beans a leer
+	 * @return Stream de filas
+	 */
+	public Stream<Object[]> stream(Stream<? extends T> beans) {
+		return beans.map(this::project);
+	}
+
+	/**
+	 * Recorre "beans" entregando cada fila a "consumer". Se reutiliza siempre la misma fila, por lo que el consumer
+	 * no debe guardarla; si necesita conservarla debe copiarla.
+	 *
+	 * @param beans Beans a leer
+	 * @param consumer Receptor de cada fila
+	 */
+	public void forEach(Iterator<? extends T> beans, Consumer<Object[]> consumer) {
+		Object[] row = new Object[readers.length];
+		while (beans.hasNext()) {
+			consumer.accept(project(beans.next(), row));
+		}
+	}
+
+	/**
+	 * @see #forEach(Iterator, Consumer)
+	 */
+	public void forEach(Iterable<? extends T> beans, Consumer<Object[]> consumer) {
+		forEach(beans.iterator(), consumer);
+	}
+}
@@ -0,0 +1,127 @@
+package io.github.jokoframework.utils.reflection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * <p>
+ * Verifica que las propiedades lectura/escritura de una clase no sean <code>null</code> ni Strings vacíos o en
+ * blanco, con el mismo criterio que {@link ReflectionUtils#hasNonEmptyValues(Object)}.
+ * </p>
+ * <p>
+ * Los getters se compilan una única vez por clase (ver {@link PropertyAccessor}), por lo que validar grandes lotes
+ * solo cuesta leer los valores. {@link #validateAll(Collection)} reparte el lote entre los núcleos disponibles.
+ * </p>
+ *
+ * @param <T> Tipo de los beans a validar
+ */
+public final class BeanValidator<T> {
+
+	// por debajo de este tamaño no compensa repartir el lote entre hilos
+	private static final int PARALLEL_THRESHOLD = 1024;
+
+	private static final ClassValue<BeanValidator<?>> CACHE = new ClassValue<BeanValidator<?>>() {
+		@Override
+		protected BeanValidator<?> computeValue(Class<?> type) {
+			return new BeanValidator<>(type);
+		}
+	};
+
+	private final String[] fields;
+	private final Function<Object, Object>[] getters;
+
+	@SuppressWarnings("unchecked")
+	private BeanValidator(Class<?> beanClass) {
+		BeanMetadata metadata = BeanMetadata.forClass(beanClass);
+		this.fields = metadata.readWriteFields();
+		this.getters = new Function[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			getters[i] = metadata.getAccessor(fields[i]).getter();
+		}
+	}
+
+	/**
+	 * Retorna el validador de la clase "beanClass", compilándolo la primera vez que se pide.
+	 *
+	 * @param beanClass Clase de los beans a validar
+	 * @param <T> Tipo de los beans
+	 * @return Validador de la clase
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> BeanValidator<T> forClass(Class<T> beanClass) {
+		return (BeanValidator<T>) CACHE.get(beanClass);
+	}
+
+	/**
+	 * Retorna True si alguna propiedad de "bean" es <code>null</code> o un String vacío o en blanco. Se detiene en la
+	 * primera propiedad que no cumple.
+	 *
+	 * @param bean Objeto a verificar
+	 * @return True si hay algún valor vacío
+	 */
+	public boolean hasEmptyValues(T bean) {
+		for (Function<Object, Object> getter : getters) {
+			if (isEmpty(getter.apply(bean))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Retorna los nombres de las propiedades de "bean" que son <code>null</code> o Strings vacíos o en blanco.
+	 *
+	 * @param bean Objeto a verificar
+	 * @return Lista de propiedades vacías, vacía si todas tienen valor
+	 */
+	public List<String> getEmptyFields(T bean) {
+		List<String> ret = null;
+		for (int i = 0; i < getters.length; i++) {
+			if (isEmpty(getters[i].apply(bean))) {
+				if (ret == null) {
+					ret = new ArrayList<>();
+				}
+				ret.add(fields[i]);
+			}
+		}
+		return ret != null ? ret : Collections.<String>emptyList();
+	}
+
+	/**
+	 * Valida todos los beans de "beans". Los lotes grandes se validan en paralelo usando el pool común de fork-join.
+	 *
+	 * @param beans Beans a validar, no pueden ser null
+	 * @return Mapa ordenado de la posición de cada bean con valores vacíos (según el orden de iteración de "beans") a
+	 *         la lista de sus propiedades vacías. Si todos los beans son válidos el mapa está vacío
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<Integer, List<String>> validateAll(Collection<? extends T> beans) {
+		Object[] array = beans.toArray();
+		List<String>[] results = new List[array.length];
+		IntStream indexes = IntStream.range(0, array.length);
+		if (array.length >= PARALLEL_THRESHOLD) {
+			indexes = indexes.parallel();
+		}
+		indexes.forEach(i -> results[i] = getEmptyFields((T) array[i]));
+		Map<Integer, List<String>> ret = new TreeMap<>();
+		for (int i = 0; i < results.length; i++) {
+			if (!results[i].isEmpty()) {
+				ret.put(i, results[i]);
+			}
+		}
+		return ret;
+	}
+
+	private static boolean isEmpty(Object value) {
+		return value == null
+				|| (value instanceof String && StringUtils.isBlank((String) value));
+	}
+}
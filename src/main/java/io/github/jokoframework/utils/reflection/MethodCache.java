@@ -0,0 +1,170 @@
+package io.github.jokoframework.utils.reflection;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Cache de métodos públicos por clase, nombre y tipos de parámetros, con el mismo criterio de búsqueda que
+ * {@link Class#getMethod(String, Class[])}.
+ * </p>
+ * <p>
+ * También se cachean las búsquedas sin resultado, de modo que consultar un método inexistente no lanza ni captura
+ * excepciones más de una vez. Como los nombres pueden venir de datos externos, se cachean como máximo
+ * {@link #MAX_MISSES} búsquedas sin resultado por clase; las siguientes se resuelven cada vez.
+ * </p>
+ * <p>
+ * Las entradas se guardan en un {@link ClassValue} de la clase. Una búsqueda sin resultado solo se cachea si los
+ * tipos de sus parámetros son de classloaders ancestros (o el mismo) del de la clase, para que una clase compartida
+ * no retenga clases de otros classloaders (por ejemplo de una aplicación web). Así las entradas se liberan junto con
+ * la clase.
+ * </p>
+ */
+public final class MethodCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MethodCache.class);
+
+	private static final Class<?>[] NO_PARAMETERS = new Class<?>[0];
+
+	/**
+	 * Cantidad máxima de búsquedas sin resultado que se cachean por clase.
+	 */
+	public static final int MAX_MISSES = 256;
+
+	private static final ClassValue<Methods> CACHE = new ClassValue<Methods>() {
+		@Override
+		protected Methods computeValue(Class<?> type) {
+			return new Methods();
+		}
+	};
+
+	private MethodCache() {
+		//No public constructor
+	}
+
+	/**
+	 * Retorna el método público "name" de "clazz" con los tipos de parámetros "parameterTypes".
+	 *
+	 * @param clazz Clase donde buscar
+	 * @param name Nombre del método
+	 * @param parameterTypes Tipos de los parámetros, en orden
+	 * @return Método o <code>null</code> si no existe
+	 */
+	public static Method getMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+		MethodInvoker invoker = getInvoker(clazz, name, parameterTypes);
+		return invoker != null ? invoker.getMethod() : null;
+	}
+
+	/**
+	 * Retorna el invoker del método público "name" de "clazz" con los tipos de parámetros "parameterTypes".
+	 *
+	 * @param clazz Clase donde buscar
+	 * @param name Nombre del método
+	 * @param parameterTypes Tipos de los parámetros, en orden
+	 * @return Invoker o <code>null</code> si el método no existe
+	 */
+	public static MethodInvoker getInvoker(Class<?> clazz, String name, Class<?>... parameterTypes) {
+		Methods methods = CACHE.get(clazz);
+		Signature key = new Signature(name, parameterTypes != null ? parameterTypes : NO_PARAMETERS);
+		Optional<MethodInvoker> ret = methods.entries.get(key);
+		if (ret == null) {
+			ret = lookup(clazz, name, key.parameterTypes);
+			if (ret.isPresent()) {
+				// los tipos de los parámetros de un método existente los resuelve el classloader de la clase
+				methods.entries.putIfAbsent(key.copy(), ret);
+			} else if (isVisibleFrom(clazz, key.parameterTypes) && methods.misses.get() < MAX_MISSES
+					&& methods.entries.putIfAbsent(key.copy(), ret) == null) {
+				methods.misses.incrementAndGet();
+			}
+		}
+		return ret.orElse(null);
+	}
+
+	/**
+	 * @return Cantidad de búsquedas sin resultado cacheadas para la clase
+	 */
+	static int cachedMisses(Class<?> clazz) {
+		return CACHE.get(clazz).misses.get();
+	}
+
+	/**
+	 * @return True si todos los tipos son de classloaders ancestros (o el mismo) del de "clazz"
+	 */
+	private static boolean isVisibleFrom(Class<?> clazz, Class<?>[] types) {
+		ClassLoader loader = clazz.getClassLoader();
+		for (Class<?> type : types) {
+			ClassLoader typeLoader = type.getClassLoader();
+			boolean ancestor = typeLoader == null;
+			for (ClassLoader current = loader; current != null && !ancestor; current = current.getParent()) {
+				ancestor = current == typeLoader;
+			}
+			if (!ancestor) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Optional<MethodInvoker> lookup(Class<?> clazz, String name, Class<?>[] parameterTypes) {
+		try {
+			return Optional.of(new MethodInvoker(clazz.getMethod(name, parameterTypes)));
+		} catch (NoSuchMethodException | SecurityException e) {
+			LOGGER.debug("Method {} not found in {}", name, clazz.getName());
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Métodos cacheados de una clase.
+	 */
+	private static final class Methods {
+
+		private final ConcurrentMap<Signature, Optional<MethodInvoker>> entries = new ConcurrentHashMap<>();
+		// cantidad de búsquedas sin resultado cacheadas
+		private final AtomicInteger misses = new AtomicInteger();
+	}
+
+	private static final class Signature {
+
+		private final String name;
+		private final Class<?>[] parameterTypes;
+		private final int hash;
+
+		private Signature(String name, Class<?>[] parameterTypes) {
+			this.name = name;
+			this.parameterTypes = parameterTypes;
+			this.hash = 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+		}
+
+		/**
+		 * Copia con su propio array, para no retener el array de varargs del llamador como clave.
+		 */
+		private Signature copy() {
+			return new Signature(name, parameterTypes.clone());
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Signature)) {
+				return false;
+			}
+			Signature that = (Signature) o;
+			return hash == that.hash && name.equals(that.name) && Arrays.equals(parameterTypes, that.parameterTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
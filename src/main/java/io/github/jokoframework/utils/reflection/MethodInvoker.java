@@ -0,0 +1,188 @@
+package io.github.jokoframework.utils.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>
+ * Invoca un {@link Method} a través de un {@link MethodHandle} adaptado una única vez a tipos genéricos. Los métodos
+ * <code>invoke</code> con cantidad fija de argumentos no crean el array de varargs que requiere
+ * {@link Method#invoke(Object, Object...)}.
+ * </p>
+ * <p>
+ * Las instancias se obtienen de {@link MethodCache}. Para métodos estáticos el "target" se ignora. Las excepciones
+ * no chequeadas lanzadas por el método se propagan sin envolver; las chequeadas se envuelven en
+ * {@link IllegalStateException}.
+ * </p>
+ */
+public final class MethodInvoker {
+
+	private final Method method;
+	private final int arity;
+	private final MethodHandle handle;
+	private final MethodHandle spreader;
+
+	MethodInvoker(Method method) {
+		this.method = method;
+		this.arity = method.getParameterCount();
+		MethodHandle mh = unreflect(method);
+		if (mh != null) {
+			if (Modifier.isStatic(method.getModifiers())) {
+				mh = MethodHandles.dropArguments(mh, 0, Object.class);
+			}
+			this.handle = mh.asType(MethodType.genericMethodType(arity + 1));
+			this.spreader = handle.asSpreader(Object[].class, arity);
+		} else {
+			// la clase no es accesible por MethodHandles (por ejemplo paquetes no exportados del JDK)
+			this.handle = null;
+			this.spreader = null;
+		}
+	}
+
+	/**
+	 * @return Método invocado
+	 */
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return Cantidad de parámetros del método
+	 */
+	public int getArity() {
+		return arity;
+	}
+
+	/**
+	 * Invoca un método sin parámetros.
+	 *
+	 * @param target Objeto sobre el cual invocar el método
+	 * @return Lo retornado por el método, null si es void
+	 */
+	public Object invoke(Object target) {
+		checkArity(0);
+		if (handle == null) {
+			return invokeReflective(target);
+		}
+		try {
+			return handle.invokeExact(target);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Invoca un método de un parámetro.
+	 */
+	public Object invoke(Object target, Object arg0) {
+		checkArity(1);
+		if (handle == null) {
+			return invokeReflective(target, arg0);
+		}
+		try {
+			return handle.invokeExact(target, arg0);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Invoca un método de dos parámetros.
+	 */
+	public Object invoke(Object target, Object arg0, Object arg1) {
+		checkArity(2);
+		if (handle == null) {
+			return invokeReflective(target, arg0, arg1);
+		}
+		try {
+			return handle.invokeExact(target, arg0, arg1);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Invoca un método de tres parámetros.
+	 */
+	public Object invoke(Object target, Object arg0, Object arg1, Object arg2) {
+		checkArity(3);
+		if (handle == null) {
+			return invokeReflective(target, arg0, arg1, arg2);
+		}
+		try {
+			return handle.invokeExact(target, arg0, arg1, arg2);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Invoca el método con cualquier cantidad de parámetros.
+	 *
+	 * @param target Objeto sobre el cual invocar el método
+	 * @param args Argumentos, tantos como parámetros tenga el método
+	 * @return Lo retornado por el método, null si es void
+	 */
+	public Object invokeWithArguments(Object target, Object... args) {
+		checkArity(args == null ? 0 : args.length);
+		if (spreader == null) {
+			return invokeReflective(target, args);
+		}
+		// variable con tipo explícito: invokeExact toma el tipo estático de cada argumento
+		Object[] actual = args == null ? new Object[0] : args;
+		try {
+			return spreader.invokeExact(target, actual);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private Object invokeReflective(Object target, Object... args) {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw rethrow(e.getCause());
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MethodHandle unreflect(Method method) {
+		try {
+			return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()).unreflect(method);
+		} catch (IllegalAccessException e) {
+			// se intenta con el lookup público
+		}
+		try {
+			return MethodHandles.publicLookup().unreflect(method);
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private void checkArity(int count) {
+		if (count != arity) {
+			throw new IllegalArgumentException("Method " + method.getName() + " expects " + arity
+					+ " arguments, got " + count);
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable e) {
+		if (e instanceof RuntimeException) {
+			return (RuntimeException) e;
+		}
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		return new IllegalStateException(e);
+	}
+
+	@Override
+	public String toString() {
+		return "MethodInvoker[" + method + "]";
+	}
+}
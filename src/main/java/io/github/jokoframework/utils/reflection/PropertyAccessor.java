@@ -0,0 +1,229 @@
+package io.github.jokoframework.utils.reflection;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Getter y setter compilados de una propiedad. Se construyen una única vez por propiedad (ver
+ * {@link BeanMetadata#getAccessor(String)}) y luego leen/escriben el bean sin pasar por {@link Method#invoke}.
+ * </p>
+ * <p>
+ * Se intenta primero generar un {@link Function}/{@link BiConsumer} con {@link LambdaMetafactory}, que el JIT puede
+ * inlinear como una llamada directa. Si la clase no es accesible (por ejemplo clases del JDK en módulos no abiertos)
+ * se usa un {@link MethodHandle} y como último recurso la invocación reflexiva.
+ * </p>
+ * <p>
+ * Los valores se convierten igual que con {@link Method#invoke}: los getters de tipos primitivos retornan el wrapper
+ * y los setters aceptan wrappers que se puedan ensanchar al tipo primitivo (por ejemplo un Integer en una propiedad
+ * long). Las excepciones lanzadas por el getter o setter se propagan sin envolver.
+ * </p>
+ */
+public final class PropertyAccessor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PropertyAccessor.class);
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final PropertyDescriptor descriptor;
+	private final Function<Object, Object> getter;
+	private final BiConsumer<Object, Object> setter;
+
+	PropertyAccessor(PropertyDescriptor descriptor) {
+		this.descriptor = descriptor;
+		Method readMethod = descriptor.getReadMethod();
+		Method writeMethod = descriptor.getWriteMethod();
+		this.getter = readMethod != null ? compileGetter(readMethod) : null;
+		this.setter = writeMethod != null ? checkingArgument(writeMethod, compileSetter(writeMethod)) : null;
+	}
+
+	/**
+	 * @return Nombre de la propiedad
+	 */
+	public String getName() {
+		return descriptor.getName();
+	}
+
+	/**
+	 * @return Tipo de la propiedad
+	 */
+	public Class<?> getType() {
+		return descriptor.getPropertyType();
+	}
+
+	/**
+	 * @return PropertyDescriptor a partir del cual se compiló el accessor
+	 */
+	public PropertyDescriptor getDescriptor() {
+		return descriptor;
+	}
+
+	public boolean isReadable() {
+		return getter != null;
+	}
+
+	public boolean isWritable() {
+		return setter != null;
+	}
+
+	/**
+	 * Retorna el valor de la propiedad en "bean" usando el getter compilado.
+	 *
+	 * @param bean Objeto a leer
+	 * @return Valor de la propiedad
+	 * @throws IllegalStateException Si la propiedad no tiene getter
+	 */
+	public Object get(Object bean) {
+		if (getter == null) {
+			throw new IllegalStateException("Property " + getName() + " has no getter");
+		}
+		return getter.apply(bean);
+	}
+
+	/**
+	 * Asigna "value" a la propiedad en "bean" usando el setter compilado.
+	 *
+	 * @param bean Objeto a modificar
+	 * @param value Valor a asignar
+	 * @throws IllegalStateException Si la propiedad no tiene setter
+	 */
+	public void set(Object bean, Object value) {
+		if (setter == null) {
+			throw new IllegalStateException("Property " + getName() + " has no setter");
+		}
+		setter.accept(bean, value);
+	}
+
+	/**
+	 * @return El getter compilado, o <code>null</code> si la propiedad no es legible
+	 */
+	public Function<Object, Object> getter() {
+		return getter;
+	}
+
+	/**
+	 * @return El setter compilado, o <code>null</code> si la propiedad no es escribible
+	 */
+	public BiConsumer<Object, Object> setter() {
+		return setter;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> compileGetter(Method readMethod) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(readMethod.getDeclaringClass(),
+					MethodHandles.lookup());
+			MethodHandle target = lookup.unreflect(readMethod);
+			CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+					MethodType.methodType(Function.class), GETTER_TYPE, target,
+					MethodType.methodType(ClassUtils.primitiveToWrapper(readMethod.getReturnType()),
+							readMethod.getDeclaringClass()));
+			return (Function<Object, Object>) site.getTarget().invoke();
+		} catch (Throwable e) {
+			LOGGER.debug("Couldn't generate a lambda getter for {}, using a MethodHandle", readMethod, e);
+		}
+		try {
+			MethodHandle handle = MethodHandles.publicLookup().unreflect(readMethod).asType(GETTER_TYPE);
+			return bean -> {
+				try {
+					return handle.invokeExact(bean);
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable e) {
+					throw new IllegalStateException(e);
+				}
+			};
+		} catch (IllegalAccessException e) {
+			LOGGER.debug("Couldn't unreflect getter {}, using reflection", readMethod, e);
+		}
+		return bean -> invokeReflective(readMethod, bean);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static BiConsumer<Object, Object> compileSetter(Method writeMethod) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(writeMethod.getDeclaringClass(),
+					MethodHandles.lookup());
+			MethodHandle target = lookup.unreflect(writeMethod);
+			CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+					MethodType.methodType(BiConsumer.class), SETTER_TYPE, target,
+					MethodType.methodType(void.class, writeMethod.getDeclaringClass(),
+							ClassUtils.primitiveToWrapper(writeMethod.getParameterTypes()[0])));
+			return (BiConsumer<Object, Object>) site.getTarget().invoke();
+		} catch (Throwable e) {
+			LOGGER.debug("Couldn't generate a lambda setter for {}, using a MethodHandle", writeMethod, e);
+		}
+		try {
+			MethodHandle handle = MethodHandles.publicLookup().unreflect(writeMethod).asType(SETTER_TYPE);
+			return (bean, value) -> {
+				try {
+					handle.invokeExact(bean, value);
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable e) {
+					throw new IllegalStateException(e);
+				}
+			};
+		} catch (IllegalAccessException e) {
+			LOGGER.debug("Couldn't unreflect setter {}, using reflection", writeMethod, e);
+		}
+		return (bean, value) -> invokeReflective(writeMethod, bean, value);
+	}
+
+	/**
+	 * El setter compilado solo acepta valores del tipo exacto del parámetro (el wrapper si es primitivo). El resto de
+	 * los valores, que {@link Method#invoke} convierte (ensanchamiento de primitivos) o rechaza con
+	 * {@link IllegalArgumentException}, se delegan a la invocación reflexiva.
+	 */
+	private static BiConsumer<Object, Object> checkingArgument(Method writeMethod,
+			BiConsumer<Object, Object> compiled) {
+		Class<?> parameterType = writeMethod.getParameterTypes()[0];
+		if (parameterType.isPrimitive()) {
+			Class<?> wrapperType = ClassUtils.primitiveToWrapper(parameterType);
+			return (bean, value) -> {
+				if (value != null && value.getClass() == wrapperType) {
+					compiled.accept(bean, value);
+				} else {
+					invokeReflective(writeMethod, bean, value);
+				}
+			};
+		}
+		return (bean, value) -> {
+			if (value == null || parameterType.isInstance(value)) {
+				compiled.accept(bean, value);
+			} else {
+				invokeReflective(writeMethod, bean, value);
+			}
+		};
+	}
+
+	private static Object invokeReflective(Method method, Object bean, Object... args) {
+		try {
+			return method.invoke(bean, args);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
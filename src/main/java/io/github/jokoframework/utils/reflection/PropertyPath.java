@@ -0,0 +1,186 @@
+package io.github.jokoframework.utils.reflection;
+
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * <p>
+ * Ruta a una propiedad anidada, por ejemplo <code>"customer.address.city"</code>, compilada una única vez en una
+ * cadena de segmentos.
+ * </p>
+ * <p>
+ * Cada segmento recuerda el {@link PropertyAccessor} resuelto para la última clase vista, por lo que recorrer la ruta
+ * no vuelve a parsear el String ni a buscar las propiedades mientras las clases no cambien. Si un valor intermedio es
+ * un {@link Map} se usa el segmento como clave.
+ * </p>
+ * <p>
+ * Las instancias son inmutables desde afuera y pueden compartirse entre hilos. Para reutilizar rutas ya compiladas
+ * ver {@link BeanMetadata#getPropertyPath(String)}.
+ * </p>
+ */
+public final class PropertyPath {
+
+	private final String path;
+	private final Segment[] segments;
+
+	private PropertyPath(String path) {
+		String[] names = StringUtils.splitPreserveAllTokens(path, '.');
+		this.path = path;
+		this.segments = new Segment[names.length];
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].isEmpty()) {
+				throw new IllegalArgumentException("Invalid property path: " + path);
+			}
+			segments[i] = new Segment(names[i]);
+		}
+	}
+
+	/**
+	 * Compila la ruta "path". No admite propiedades indexadas ni mapeadas de commons-beanutils (<code>a[0]</code>,
+	 * <code>a(key)</code>).
+	 *
+	 * @param path Ruta con los nombres de propiedades separados por punto
+	 * @return Ruta compilada
+	 * @throws IllegalArgumentException Si la ruta es vacía o tiene segmentos vacíos
+	 */
+	public static PropertyPath compile(String path) {
+		if (StringUtils.isEmpty(path)) {
+			throw new IllegalArgumentException("Empty property path");
+		}
+		return new PropertyPath(path);
+	}
+
+	/**
+	 * @return La ruta original
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Retorna el valor de la propiedad anidada. Si algún valor intermedio es <code>null</code> retorna
+	 * <code>null</code>.
+	 *
+	 * @param root Objeto desde el cual empezar la ruta
+	 * @return Valor de la propiedad o <code>null</code>
+	 * @throws IllegalStateException Si alguna clase de la ruta no tiene la propiedad
+	 */
+	public Object get(Object root) {
+		Object current = root;
+		for (int i = 0; i < segments.length && current != null; i++) {
+			current = segments[i].get(current);
+		}
+		return current;
+	}
+
+	/**
+	 * Asigna "value" a la propiedad anidada.
+	 *
+	 * @param root Objeto desde el cual empezar la ruta
+	 * @param value Valor a asignar
+	 * @throws IllegalStateException Si algún valor intermedio es <code>null</code> o alguna clase de la ruta no tiene
+	 *                               la propiedad
+	 */
+	public void set(Object root, Object value) {
+		set(root, value, false);
+	}
+
+	/**
+	 * Asigna "value" a la propiedad anidada.
+	 *
+	 * @param root Objeto desde el cual empezar la ruta
+	 * @param value Valor a asignar
+	 * @param createIntermediates True para instanciar (con su constructor sin argumentos) los valores intermedios que
+	 *                            sean <code>null</code>, False para lanzar una excepción en ese caso
+	 * @throws IllegalStateException Si no se puede recorrer la ruta
+	 */
+	public void set(Object root, Object value, boolean createIntermediates) {
+		if (root == null) {
+			throw new IllegalStateException("Null root for property path " + path);
+		}
+		Object current = root;
+		int last = segments.length - 1;
+		for (int i = 0; i < last; i++) {
+			Segment segment = segments[i];
+			Object next = segment.get(current);
+			if (next == null) {
+				if (!createIntermediates) {
+					throw new IllegalStateException("Null value for " + segment.name + " in property path " + path);
+				}
+				next = segment.instantiate(current);
+				segment.set(current, next);
+			}
+			current = next;
+		}
+		segments[last].set(current, value);
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+
+	private static final class Segment {
+
+		private final String name;
+		private volatile Resolved resolved;
+
+		private Segment(String name) {
+			this.name = name;
+		}
+
+		@SuppressWarnings("rawtypes")
+		private Object get(Object bean) {
+			if (bean instanceof Map) {
+				return ((Map) bean).get(name);
+			}
+			return accessorFor(bean.getClass()).get(bean);
+		}
+
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		private void set(Object bean, Object value) {
+			if (bean instanceof Map) {
+				((Map) bean).put(name, value);
+			} else {
+				accessorFor(bean.getClass()).set(bean, value);
+			}
+		}
+
+		private Object instantiate(Object bean) {
+			if (bean instanceof Map) {
+				throw new IllegalStateException("Can't instantiate the value for key " + name + " of a Map");
+			}
+			Class<?> type = accessorFor(bean.getClass()).getType();
+			try {
+				return type.getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("Couldn't instantiate " + type.getName() + " for " + name, e);
+			}
+		}
+
+		private PropertyAccessor accessorFor(Class<?> clazz) {
+			Resolved r = resolved;
+			if (r != null && r.clazz == clazz) {
+				return r.accessor;
+			}
+			PropertyAccessor accessor = BeanMetadata.forClass(clazz).getAccessor(name);
+			if (accessor == null) {
+				throw new IllegalStateException("Couldn't found the field " + name + " in " + clazz.getName());
+			}
+			resolved = new Resolved(clazz, accessor);
+			return accessor;
+		}
+	}
+
+	private static final class Resolved {
+
+		private final Class<?> clazz;
+		private final PropertyAccessor accessor;
+
+		private Resolved(Class<?> clazz, PropertyAccessor accessor) {
+			this.clazz = clazz;
+			this.accessor = accessor;
+		}
+	}
+}
@@ -1,27 +1,21 @@
 package io.github.jokoframework.utils.reflection;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
 
+import io.github.jokoframework.utils.process.ProcessRunner;
 import org.apache.commons.beanutils.PropertyUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,36 +23,12 @@ public class ReflectionUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReflectionUtils.class);
 
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
 	private  ReflectionUtils () {
 		//No public constructor
 	}
 
-	/**
-	 * El método retorna el resultado de llamar el getter para cierto atributo "fieldName" para cierto objeto "bean",
-	 * permite atributos anidados.
-	 *
-	 * @param bean Objeto con un getter para el atributo "fieldName"
-	 * @param fieldName Nombre del atributo cuyo getter se quiere invocar, puede ser un atributo anidado
-	 * @return El valor del atributo "fieldName" del objeto "bean"
-	 * @throws IllegalStateException
-	 */
-	private static Object callGetter(Object bean, String fieldName)
-			throws IllegalStateException {
-		Method m = null;
-		Object ret = null;
-		try {
-			if (fieldName.contains(".")) {
-				ret = PropertyUtils.getNestedProperty(bean, fieldName);
-			} else {
-				m = getReadMethod(bean.getClass(), fieldName);
-				ret = m.invoke(bean, new Object[] {});
-			}
-		} catch (Exception e) {
-			throw new IllegalStateException(e);
-		}
-		return ret;
-	}
-
 	/**
 	 * El método retorna el resultado de llamar el getter de un objeto "bean" para cierto campo "field" y cuyo getter
 	 * acepta una lista de Strings "parameters" como argumento, permitiendo getters mas dinámicos.
@@ -71,16 +41,32 @@ public class ReflectionUtils {
 	public static String callGetterDynamic(Object bean, String field, List<Integer> parameters) {
 		String methodName = "get" + firstLetterToUppercase(field);
 		String ret;
-		Class<?>[] parameterTypes = new Class<?>[parameters.size()];
-		Object[] paramsArray = parameters.toArray();
+		int size = parameters.size();
+		Class<?>[] parameterTypes = new Class<?>[size];
 		int i = 0;
 		for (Iterator<?> iterator = parameters.iterator(); iterator.hasNext();) {
 			Object object = (Object) iterator.next();
 			parameterTypes[i++] = object.getClass();
 		}
 		try {
-			Method m = bean.getClass().getMethod(methodName, parameterTypes);
-			ret = (String) m.invoke(bean, paramsArray);
+			MethodInvoker invoker = MethodCache.getInvoker(bean.getClass(), methodName, parameterTypes);
+			if (invoker == null) {
+				throw new NoSuchMethodException(methodName);
+			}
+			switch (size) {
+			case 0:
+				ret = (String) invoker.invoke(bean);
+				break;
+			case 1:
+				ret = (String) invoker.invoke(bean, parameters.get(0));
+				break;
+			case 2:
+				ret = (String) invoker.invoke(bean, parameters.get(0), parameters.get(1));
+				break;
+			default:
+				ret = (String) invoker.invokeWithArguments(bean, parameters.toArray());
+				break;
+			}
 		} catch (Exception e) {
 			throw new IllegalStateException("Couldn't get method : "
 					+ methodName, e);
@@ -98,19 +84,27 @@ public class ReflectionUtils {
 	 * @throws IllegalStateException
 	 */
 	public static void callSetter(Object bean, String fieldName, Object valor) {
-		Method m = null;
 		try {
-			if (fieldName.contains(".")) {
+			if (isIndexedOrMapped(fieldName)) {
 				PropertyUtils.setNestedProperty(bean, fieldName, valor);
+			} else if (fieldName.indexOf('.') >= 0) {
+				BeanMetadata.forClass(bean.getClass()).getPropertyPath(fieldName).set(bean, valor);
 			} else {
-				m = getWriteMethod(bean.getClass(), fieldName);
-				m.invoke(bean, new Object[] { valor });
+				getAccessor(bean.getClass(), fieldName).set(bean, valor);
 			}
 		} catch (Exception e) {
 			throw new IllegalStateException(e);
 		}
 	}
 
+	/**
+	 * Retorna true si "fieldName" usa la sintaxis de propiedades indexadas ("a[0]") o mapeadas ("a(key)") de
+	 * commons-beanutils, que {@link PropertyPath} no soporta.
+	 */
+	private static boolean isIndexedOrMapped(String fieldName) {
+		return fieldName.indexOf('[') >= 0 || fieldName.indexOf('(') >= 0;
+	}
+
 	/**
 	 * Describe la clase y la instancia con el formato "nombreDePropiedad" tipo de dato: valor.
 	 *
@@ -129,59 +123,30 @@ public class ReflectionUtils {
 	 * @return String con la descripción del objeto
 	 */
 	private static String describe(Object object, Boolean withHash) {
-		String name = object.getClass().getSimpleName();
-		String className = object.getClass().getName();
-		StringBuilder ret = new StringBuilder();
-		StringBuilder sbNullValues = new StringBuilder("{");
-		PropertyDescriptor[] descs;
-		int i = 0;
 		try {
-			ret.append("<").append(name);
-			if (withHash)
-				ret.append(" hashCode:").append(object.hashCode());
-			ret.append(" >");
-			descs = getPropertyDescriptors(object.getClass());
-			for (PropertyDescriptor pd : descs) {
-				i++;
-				if (!pd.getName().equalsIgnoreCase("class")) {
-					String stringValue = null;
-					String propertyName = pd.getName();
-					Method readMethod = pd.getReadMethod();
-					Method writeMethod = pd.getWriteMethod();
-					Object val = null;
-					if (readMethod != null && writeMethod != null)
-						val = readMethod.invoke(object, new Object[] {});
-					if (val != null) {
-
-						stringValue = val.toString();
-						ret.append("{");
-						ret.append(propertyName);
-						ret.append("=");
-						ret.append(stringValue);
-						ret.append("}");
-						if (i < (descs.length - 1))
-							ret.append("; ");
-					} else {
-						sbNullValues.append(propertyName);
-
-						sbNullValues.append(",");
-					}
-				}
-			}
-			if (sbNullValues.length() > 1) { // it means that there are null values
-				sbNullValues.append(" = null}");
-				ret.append(sbNullValues);
-			}
-			ret.append("; Class: ").append(className);
-			ret.append("</").append(name).append(">");
+			return BeanDescriber.describe(object, withHash, 0, BeanDescriber.UNLIMITED);
 		} catch (Exception e) {
-		    //in case of error it returns super
-			ret = null;
+		    //in case of error it returns null
+			return null;
 		}
-		if (ret == null) {
+	}
+
+	/**
+	 * Describe la clase y la instancia con el formato "nombreDePropiedad" tipo de dato: valor, describiendo también
+	 * los beans anidados hasta "maxDepth" niveles y cortando el resultado en "maxLength" caracteres.
+	 *
+	 * @param object Objeto instanciado
+	 * @param maxDepth Niveles de beans anidados a describir, 0 para usar el toString() de los valores
+	 * @param maxLength Cantidad máxima de caracteres, {@link BeanDescriber#UNLIMITED} para no cortar
+	 * @return String con la descripción del objeto incluyendo el hashCode
+	 * @see BeanDescriber
+	 */
+	public static String describe(Object object, int maxDepth, int maxLength) {
+		try {
+			return BeanDescriber.describe(object, true, maxDepth, maxLength);
+		} catch (Exception e) {
+			//in case of error it returns null
 			return null;
-		} else {
-			return ret.toString();
 		}
 	}
 
@@ -225,17 +190,41 @@ public class ReflectionUtils {
 	 * @return Nombre del método en el que se ejecuta
 	 */
 	public static String getCurrentMethodName() {
-		boolean doNext = false;
-		String ret = null;
-		StackTraceElement[] e = Thread.currentThread().getStackTrace();
-		for (StackTraceElement s : e) {
-			ret = s.getMethodName();
-			if (doNext) {
-				break;
-			}
-			doNext = ret.equals("getCurrentMethodName");
+		// frames: frameAt, getCurrentMethodName, método que llamó a getCurrentMethodName
+		return frameAt(2).map(StackWalker.StackFrame::getMethodName).orElse(null);
+	}
+
+	/**
+	 * Retorna el nombre de un método de la pila de llamadas. Con "depth" 0 retorna el método que llamó a
+	 * getCallerMethod (igual que {@link #getCurrentMethodName()}), con 1 el que llamó a ese método, y así
+	 * sucesivamente. Solo se recorren los frames necesarios.
+	 *
+	 * @param depth Cantidad de frames a subir desde el método que llama a getCallerMethod
+	 * @return Nombre del método o <code>null</code> si la pila no es tan profunda
+	 */
+	public static String getCallerMethod(int depth) {
+		if (depth < 0) {
+			throw new IllegalArgumentException("Invalid depth: " + depth);
 		}
-		return ret;
+		return frameAt(2 + depth).map(StackWalker.StackFrame::getMethodName).orElse(null);
+	}
+
+	/**
+	 * Retorna la clase del método que llamó al método que se está ejecutando.
+	 *
+	 * @return Clase que llamó al método actual o <code>null</code> si no hay tal frame
+	 */
+	public static Class<?> getCallerClass() {
+		// frames: frameAt, getCallerClass, método actual, método que lo llamó
+		return frameAt(3).map(StackWalker.StackFrame::getDeclaringClass).orElse(null);
+	}
+
+	/**
+	 * Retorna el frame que está "skip" posiciones por encima de frameAt, recorriendo la pila de manera lazy con
+	 * {@link StackWalker} en lugar de materializar todo {@link Thread#getStackTrace()}.
+	 */
+	private static Optional<StackWalker.StackFrame> frameAt(int skip) {
+		return STACK_WALKER.walk(frames -> frames.skip(skip).findFirst());
 	}
 
 	/**
@@ -267,30 +256,9 @@ public class ReflectionUtils {
 		return ret;
 	}
 
-	/**
-	 * Retorna un array de Strings conteniendo todos los atributos de la clase "clazz" que tengan ambos un getter sin
-	 * argumentos y un setter solo con un argumento de tipo igual al atributo correspondiente.
-	 *
-	 * @param clazz Clase de cual obtener la lista de atributos
-	 * @return Array de atributos de la clase "clazz"
-	 * @throws IllegalStateException
-	 */
-	private static String[] getFieldList(Class<?> clazz)
-			throws IllegalStateException {
-		ArrayList<String> lista = new ArrayList<String>();
-		PropertyDescriptor[] descs = getPropertyDescriptors(clazz);
-		for (PropertyDescriptor pd : descs) {
-			if (pd.getReadMethod() != null && pd.getWriteMethod() != null)
-
-				lista.add(pd.getName());
-
-		}
-		return lista.toArray(new String[0]);
-	}
-
 	/**
 	 * Retorna una lista de atributos lectura/escritura de la clase "clazz" de tipo "elementType" que no sean del tipo
-	 * collection.
+	 * collection. Se consideran también los atributos heredados.
 	 *
 	 * @param clazz Clase a mirar
 	 * @param elementType Tipo de los atributos a retornar en la lista
@@ -298,31 +266,13 @@ public class ReflectionUtils {
 	 */
 	public static List<String> getFieldsType(Class<?> clazz,
 			Class<?> elementType) {
-		List<String> ret = new ArrayList<String>();
-		List<String> fieldsNotFound = new ArrayList<String>();
-		String[] fields = getFieldList(clazz);
-		for (String fieldName : fields) {
-			try {
-				Field field = clazz.getDeclaredField(fieldName);
-				if (!Collection.class.isAssignableFrom(field.getType())) {
-					Method readMethod = getReadMethod(clazz, fieldName);
-					Method writeMethod = getWriteMethod(clazz, fieldName);
-					if (elementType.isAssignableFrom(field.getType())
-							&& readMethod != null && writeMethod != null) {
-						ret.add(fieldName);
-					}
-				}
-			} catch (Exception e) {
-			    fieldsNotFound.add(fieldName);
-			}
-		}
-
-		return ret;
+		return new ArrayList<String>(BeanMetadata.forClass(clazz).getFieldsAssignableTo(elementType));
 	}
 
 	/**
 	 * Retorna una lista de atributos lectura/escritura de la clase "clazz" de tipo "elementType" que sean del tipo
-	 * collection.
+	 * collection. El tipo de los elementos se obtiene de la declaración genérica del atributo, sin instanciarlo, y se
+	 * consideran también los atributos heredados.
 	 *
 	 * @param value Objeto a evaluar
 	 * @param elementType Tipo de los atributos a retornar en la lista
@@ -330,25 +280,7 @@ public class ReflectionUtils {
 	 */
 	public static List<String> getFieldsTypeCollection(Object value,
 			Class<?> elementType) {
-		List<String> ret = new ArrayList<String>();
-		String[] fields = getFieldList(value.getClass());
-		for (String fieldName : fields) {
-			try {
-				Field field = value.getClass().getDeclaredField(fieldName);
-				if (Collection.class.isAssignableFrom(field.getType())) {
-					ParameterizedType type = (ParameterizedType) field
-							.getGenericType();
-					Class<?> tipo = (Class<?>) type.getActualTypeArguments()[0];
-					Object instanciaTipo = tipo.newInstance();
-					if (elementType.isAssignableFrom(instanciaTipo.getClass())) {
-						ret.add(fieldName);
-					}
-				}
-			} catch (Exception e) {
-				ret = new ArrayList<String>();
-			}
-		}
-		return ret;
+		return new ArrayList<String>(BeanMetadata.forClass(value.getClass()).getCollectionFieldsOf(elementType));
 	}
 
 	/**
@@ -365,7 +297,8 @@ public class ReflectionUtils {
 
 	/**
 	 * Se retornara el método de nombre "name" y parámetros "paramas" de la clase del objeto "bean" proveído.
-	 * El orden de las clases de "params" debe ser igual al de los parámetros del método.
+	 * El orden de las clases de "params" debe ser igual al de los parámetros del método. La búsqueda se cachea en
+	 * {@link MethodCache}, también (con un límite) cuando el método no existe.
 	 *
 	 * @param bean Objeto instanciado
 	 * @param name Nombre del método buscado
@@ -375,11 +308,11 @@ public class ReflectionUtils {
 	public static Method getMethod(Object bean, String name,
 			Class<?>... params) {
 		Method ret = null;
-		try {
-			ret = bean.getClass().getMethod(name, params);
-		} catch (Exception e) {
-			LOGGER.debug("Couldn't get method : ", e);
-			ret = null;
+		if (bean != null) {
+			ret = MethodCache.getMethod(bean.getClass(), name, params);
+		}
+		if (ret == null) {
+			LOGGER.debug("Couldn't get method : {}", name);
 		}
 		return ret;
 	}
@@ -394,13 +327,10 @@ public class ReflectionUtils {
 	 */
 	public static Method getMethodQuiet(Object object, String methodName,
 			Class<?>... params) {
-		Method m = null;
-		try {
-			m = object.getClass().getMethod(methodName, params);
-		} catch (Exception e) {
-			// consumes the exception
+		if (object == null) {
+			return null;
 		}
-		return m;
+		return MethodCache.getMethod(object.getClass(), methodName, params);
 	}
 
 	/**
@@ -456,21 +386,6 @@ public class ReflectionUtils {
 		return ret;
 	}
 
-	/**
-	 * Retorna el Method del getter para el atributo de la clase "clazz" y de nombre "fieldName".
-	 *
-	 * @param clazz Clase
-	 * @param fieldName Atributo de "clazz" de donde sacar el getter
-	 * @return Getter del atributo
-	 * @throws IllegalStateException
-	 * @throws NoSuchFieldException
-	 */
-	private static Method getReadMethod(Class<?> clazz, String fieldName)
-			throws IllegalStateException, NoSuchFieldException {
-		PropertyDescriptor desc = obtenerPropertyDescriptor(clazz, fieldName);
-		return desc.getReadMethod();
-	}
-
 	/**
 	 * Retorna un valor para el tipo de dato. La clase debe tener un constructor con un String de parametro.
 	 *
@@ -490,21 +405,6 @@ public class ReflectionUtils {
 		return ret;
 	}
 
-	/**
-	 * Retorna el Method del setter para el atributo de la clase "clazz" y de nombre "fieldName".
-	 *
-	 * @param clazz Clase
-	 * @param fieldName Atributo de "clazz" de donde sacar el setter
-	 * @return Setter del atributo
-	 * @throws IllegalStateException
-	 * @throws NoSuchFieldException
-	 */
-	private static Method getWriteMethod(Class<?> clazz, String fieldName)
-			throws IllegalStateException, NoSuchFieldException {
-		PropertyDescriptor desc = obtenerPropertyDescriptor(clazz, fieldName);
-		return desc.getWriteMethod();
-	}
-
 	/**
 	 * Invoca al método "metodo" del objeto "bean" con los parámetros "parameters" ("null" si no tiene parámetros).
 	 *
@@ -525,6 +425,35 @@ public class ReflectionUtils {
 		return ret;
 	}
 
+	/**
+	 * Retorna el {@link PropertyAccessor} compilado del atributo "fieldName" de la clase "clazz".
+	 *
+	 * @param clazz Clase en cuestión
+	 * @param fieldName Atributo
+	 * @return PropertyAccessor del atributo
+	 * @throws NoSuchFieldException Si la clase no tiene el atributo
+	 */
+	private static PropertyAccessor getAccessor(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+		PropertyAccessor ret = BeanMetadata.forClass(clazz).getAccessor(fieldName);
+		if (ret == null) {
+			throw new NoSuchFieldException("Couldn't found the field "
+					+ fieldName + " in " + clazz.getName());
+		}
+		return ret;
+	}
+
+	/**
+	 * Retorna el {@link PropertyAccessor} cacheado que corresponde al PropertyDescriptor "property", o
+	 * <code>null</code> si el descriptor no es el que la clase "clazz" expone (por ejemplo si fue creado a mano).
+	 */
+	private static PropertyAccessor getAccessor(Class<?> clazz, PropertyDescriptor property) {
+		PropertyAccessor ret = BeanMetadata.forClass(clazz).getAccessor(property.getName());
+		if (ret != null && ret.getDescriptor() != property && !ret.getDescriptor().equals(property)) {
+			ret = null;
+		}
+		return ret;
+	}
+
 	/**
 	 * Retornara el PropertyDescriptor del atributo "fieldName" de la clase "class".
 	 *
@@ -537,13 +466,7 @@ public class ReflectionUtils {
 	private static PropertyDescriptor obtenerPropertyDescriptor(Class<?> clazz,
                                                                 String fieldName) throws IllegalStateException,
 			NoSuchFieldException {
-		PropertyDescriptor ret = null;
-		PropertyDescriptor[] props = getPropertyDescriptors(clazz);
-		for (PropertyDescriptor desc : props) {
-			if (desc.getName().equals(fieldName)) {
-				ret = desc;
-			}
-		}
+		PropertyDescriptor ret = BeanMetadata.forClass(clazz).getPropertyDescriptor(fieldName);
 		if (ret == null) {
 			throw new NoSuchFieldException("Couldn't found the field "
 					+ fieldName + " in " + clazz.getName());
@@ -551,37 +474,6 @@ public class ReflectionUtils {
 		return ret;
 	}
 
-	/**
-	 * Obtiene todos los PropertyDescriptor de la clase "target".
-	 *
-	 * @param target Clase a analizar
-	 * @return Lista de PropertyDescriptor relacionados a la clase "target"
-	 */
-	private static PropertyDescriptor[] getPropertyDescriptors(Class<?> target) throws IllegalStateException {
-		BeanInfo info;
-		PropertyDescriptor[] ret;
-		Comparator<PropertyDescriptor> comparator = (o1, o2) -> {
-            int ret1 = -1;
-            // hack so that it always shows the "id" first
-            if (o1.getName().equals("id")) {
-                ret1 = -1;
-            } else if (o2.getName().equals("id")) {
-                ret1 = 1;
-            } else {
-                ret1 = o1.getName().compareTo(o2.getName());
-            }
-            return ret1;
-        };
-		try {
-			info = Introspector.getBeanInfo(target);
-			ret = info.getPropertyDescriptors();
-			Arrays.sort(ret, comparator);
-			return ret;
-		} catch (IntrospectionException e) {
-			throw new IllegalStateException(e);
-		}
-	}
-
 	/**
 	 * Dado un objeto "fuente" se retorna el valor del atributo "fieldName" proveído por su getter.
 	 *
@@ -593,9 +485,7 @@ public class ReflectionUtils {
 	public static Object read(Object fuente, String fieldName)
 			throws IllegalStateException {
 		try {
-			Method m = getReadMethod(fuente.getClass(), fieldName);
-			Object o = m.invoke(fuente, new Object[] {});
-			return o;
+			return getAccessor(fuente.getClass(), fieldName).get(fuente);
 		} catch (Exception e) {
 			throw new IllegalStateException(e);
 		}
@@ -613,6 +503,10 @@ public class ReflectionUtils {
 	public static Object read(PropertyDescriptor property, Object object)
 			throws IllegalStateException {
 		try {
+			PropertyAccessor accessor = getAccessor(object.getClass(), property);
+			if (accessor != null) {
+				return accessor.get(object);
+			}
 			return property.getReadMethod().invoke(object, new Object[] {});
 		} catch (Exception e) {
 			throw new IllegalStateException(e);
@@ -621,23 +515,26 @@ public class ReflectionUtils {
 
 	/**
 	 * Ejecuta el String en la linea de comando en el directorio raiz del proyecto por defecto.
+	 * La salida de error se descarta.
 	 *
 	 * @param cmdline Comando a ejecutar
 	 * @return Resultado obtenido al ejecutar el comando
+	 * @deprecated Acumula toda la salida en memoria y no tiene timeout, usar {@link ProcessRunner}
 	 */
+	@Deprecated
 	public static Map<Integer, String> salidaComandoPorLinea(String cmdline) {
 		Map<Integer, String> ret = new HashMap<Integer, String>();
 		try {
-			Integer nroLinea = 1;
-			String line;
-			Process p = Runtime.getRuntime().exec(cmdline);
-			BufferedReader input = new BufferedReader(new InputStreamReader(
-					p.getInputStream()));
-			while ((line = input.readLine()) != null) {
-				ret.put(nroLinea, line);
-				nroLinea = Integer.valueOf(nroLinea + 1);
+			// mismo criterio de separación de argumentos que Runtime.exec(String)
+			StringTokenizer st = new StringTokenizer(cmdline);
+			List<String> command = new ArrayList<String>();
+			while (st.hasMoreTokens()) {
+				command.add(st.nextToken());
 			}
-			input.close();
+			ProcessRunner.execute(command, line -> ret.put(ret.size() + 1, line), null, 0, TimeUnit.SECONDS);
+		} catch (InterruptedException err) {
+			Thread.currentThread().interrupt();
+			LOGGER.error("Command execution interrupted: {}", cmdline);
 		} catch (Exception err) {
 			LOGGER.error("Command execution failed: {}", cmdline);
 		}
@@ -646,25 +543,16 @@ public class ReflectionUtils {
 
 	/**
 	 * Verifica la lista de campos de un objeto, retorna False si ningún campo contiene "null" y si ningún String esta
-	 * vacío "" o solo contiene espacios "   ", sino True.
+	 * vacío "" o solo contiene espacios "   ", sino True. Para validar lotes o conocer qué campos fallan ver
+	 * {@link BeanValidator}.
 	 *
 	 * @param object Objeto a verificar
 	 * @return Boolean
 	 */
+	@SuppressWarnings("unchecked")
 	public static boolean hasNonEmptyValues(Object object) {
-		boolean ret = false;
-		String[] fields = ReflectionUtils.getFieldList(object.getClass());
-		for (String field : fields) {
-			Object value = ReflectionUtils.callGetter(object, field);
-			if (value == null
-					|| (value instanceof String && StringUtils.isBlank(value.toString()))) {
-				ret = true;
-			}
-			if (ret) {
-                break;
-            }
-		}
-		return ret;
+		BeanValidator<Object> validator = (BeanValidator<Object>) BeanValidator.forClass(object.getClass());
+		return validator.hasEmptyValues(object);
 	}
 
 	/**
@@ -679,7 +567,12 @@ public class ReflectionUtils {
 	public static void write(PropertyDescriptor property, Object object,
 			Object value) throws IllegalStateException {
 		try {
-			property.getWriteMethod().invoke(object, value);
+			PropertyAccessor accessor = getAccessor(object.getClass(), property);
+			if (accessor != null) {
+				accessor.set(object, value);
+			} else {
+				property.getWriteMethod().invoke(object, value);
+			}
 		} catch (Exception e) {
 			throw new IllegalStateException(e);
 		}
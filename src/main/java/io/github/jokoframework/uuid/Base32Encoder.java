@@ -0,0 +1,140 @@
+package io.github.jokoframework.uuid;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Codificación en Base32 directamente desde longs a un char[], sin pasar por arrays de bytes intermedios.
+ * </p>
+ * <p>
+ * {@link #RFC4648} es el alfabeto estándar (el mismo de commons-codec) y
+ * {@link #CROCKFORD} (http://www.crockford.com/wrmg/base32.html) preserva el orden: el orden lexicográfico de los
+ * Strings codificados es el mismo que el de los números, por lo que es el alfabeto de los IDs ordenados por tiempo.
+ * </p>
+ */
+final class Base32Encoder {
+
+    static final int BITS_PER_CHARACTER = 5;
+
+    static final char[] RFC4648 = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+
+    static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static final int MASK = 0x1F;
+
+    // valor de cada caracter ASCII en CROCKFORD, -1 si no pertenece al alfabeto
+    private static final byte[] CROCKFORD_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(CROCKFORD_VALUES, (byte) -1);
+        for (int i = 0; i < CROCKFORD.length; i++) {
+            CROCKFORD_VALUES[CROCKFORD[i]] = (byte) i;
+        }
+    }
+
+    private Base32Encoder() {
+        //No public constructor
+    }
+
+    /**
+     * Escribe en "dst" los "chars" caracteres que representan los <code>chars * 5</code> bits menos significativos
+     * del número de 128 bits "hi:lo", empezando por el más significativo.
+     *
+     * @param hi 64 bits más significativos
+     * @param lo 64 bits menos significativos
+     * @param chars Cantidad de caracteres, como máximo 25
+     * @param alphabet Alfabeto de 32 caracteres
+     * @param dst Destino
+     * @param offset Posición de "dst" donde escribir el primer caracter
+     */
+    static void encode(long hi, long lo, int chars, char[] alphabet, char[] dst, int offset) {
+        for (int i = 0; i < chars; i++) {
+            dst[offset + i] = alphabet[fromBottom(hi, lo, (chars - 1 - i) * BITS_PER_CHARACTER)];
+        }
+    }
+
+    /**
+     * Igual que {@link #encode(long, long, int, char[], char[], int)} escribiendo caracteres ASCII.
+     */
+    static void encode(long hi, long lo, int chars, char[] alphabet, byte[] dst, int offset) {
+        for (int i = 0; i < chars; i++) {
+            dst[offset + i] = (byte) alphabet[fromBottom(hi, lo, (chars - 1 - i) * BITS_PER_CHARACTER)];
+        }
+    }
+
+    /**
+     * @return Los 5 bits de "hi:lo" que empiezan en "shift", contando desde el bit menos significativo de "lo"
+     */
+    private static int fromBottom(long hi, long lo, int shift) {
+        if (shift >= Long.SIZE) {
+            return (int) (hi >>> (shift - Long.SIZE)) & MASK;
+        }
+        if (shift + BITS_PER_CHARACTER <= Long.SIZE) {
+            return (int) (lo >>> shift) & MASK;
+        }
+        return (int) ((lo >>> shift) | (hi << (Long.SIZE - shift))) & MASK;
+    }
+
+    /**
+     * Escribe en "dst" los "chars" caracteres que representan los bits de "hi:lo" empezando por el más significativo
+     * de "hi", igual que la codificación Base32 de los bytes big-endian de "hi:lo" sin padding. Los bits que faltan
+     * para completar el último caracter se toman como 0.
+     *
+     * @param hi Primeros 64 bits
+     * @param lo Siguientes 64 bits
+     * @param chars Cantidad de caracteres, como máximo 26
+     * @param alphabet Alfabeto de 32 caracteres
+     * @param dst Destino
+     * @param offset Posición de "dst" donde escribir el primer caracter
+     */
+    static void encodeFromTop(long hi, long lo, int chars, char[] alphabet, char[] dst, int offset) {
+        for (int i = 0; i < chars; i++) {
+            dst[offset + i] = alphabet[fromTop(hi, lo, i * BITS_PER_CHARACTER)];
+        }
+    }
+
+    /**
+     * Igual que {@link #encodeFromTop(long, long, int, char[], char[], int)} escribiendo caracteres ASCII.
+     */
+    static void encodeFromTop(long hi, long lo, int chars, char[] alphabet, byte[] dst, int offset) {
+        for (int i = 0; i < chars; i++) {
+            dst[offset + i] = (byte) alphabet[fromTop(hi, lo, i * BITS_PER_CHARACTER)];
+        }
+    }
+
+    /**
+     * @return Los 5 bits de "hi:lo" que empiezan en "position", contando desde el bit más significativo de "hi"
+     */
+    private static int fromTop(long hi, long lo, int position) {
+        int last = Long.SIZE - BITS_PER_CHARACTER;
+        if (position <= last) {
+            return (int) (hi >>> (last - position)) & MASK;
+        }
+        if (position < Long.SIZE) {
+            return (int) ((hi << (position - last)) | (lo >>> (Long.SIZE + last - position))) & MASK;
+        }
+        position -= Long.SIZE;
+        if (position <= last) {
+            return (int) (lo >>> (last - position)) & MASK;
+        }
+        return (int) (lo << (position - last)) & MASK;
+    }
+
+    /**
+     * Decodifica "chars" caracteres de {@link #CROCKFORD} a partir de "offset", como máximo 12.
+     *
+     * @throws IllegalArgumentException Si algún caracter no pertenece al alfabeto
+     */
+    static long decodeCrockford(CharSequence src, int offset, int chars) {
+        long ret = 0;
+        for (int i = offset; i < offset + chars; i++) {
+            char c = Character.toUpperCase(src.charAt(i));
+            int value = c < 128 ? CROCKFORD_VALUES[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid character '" + src.charAt(i) + "' at " + i);
+            }
+            ret = (ret << BITS_PER_CHARACTER) | value;
+        }
+        return ret;
+    }
+}
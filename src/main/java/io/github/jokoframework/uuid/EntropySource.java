@@ -0,0 +1,35 @@
+package io.github.jokoframework.uuid;
+
+/**
+ * Fuente de los bits random de {@link TXUUIDGenerator}. Las implementaciones deben poder usarse desde varios threads a
+ * la vez. En {@link EntropySources} están las implementaciones de la librería.
+ */
+@FunctionalInterface
+public interface EntropySource {
+
+    /**
+     * @return 64 bits random
+     */
+    long nextLong();
+
+    /**
+     * Carga "count" longs random en "dst" a partir de "offset".
+     *
+     * @param dst Destino
+     * @param offset Posición del primer long
+     * @param count Cantidad de longs
+     */
+    default void nextLongs(long[] dst, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            dst[i] = nextLong();
+        }
+    }
+
+    /**
+     * Libera el estado que la fuente guarda para el thread actual, si lo hay. El estado se vuelve a crear si el thread
+     * la usa de nuevo.
+     */
+    default void releaseCurrentThread() {
+        // sin estado por thread
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.jokoframework.uuid;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Implementaciones de {@link EntropySource}:
+ * </p>
+ * <ul>
+ * <li>{@link #SECURE}: un {@link SecureRandom} por thread, del que se leen bloques de bytes que se consumen de a 8.
+ * A diferencia de {@link java.util.UUID#randomUUID()}, que usa un único SecureRandom compartido, los threads no
+ * compiten por un lock. Es la fuente por defecto de {@link TXUUIDGenerator}.</li>
+ * <li>{@link #NON_CRYPTO}: {@link ThreadLocalRandom}, mucho más rápido pero predecible. Solo para IDs que no
+ * necesitan ser impredecibles (no usar para tokens, IDs de sesión o IDs expuestos que no deban poder adivinarse).</li>
+ * </ul>
+ * <p>
+ * El estado por thread de {@link #SECURE} (y de las fuentes creadas con {@link #secure(Supplier, int)}) se guarda en un
+ * {@link ThreadLocal}, por lo que un thread de un pool compartido (por ejemplo del contenedor web) retiene el
+ * classloader de la librería aunque la aplicación se haya redesplegado. En ese caso llamar a
+ * {@link EntropySource#releaseCurrentThread()} al terminar de usar la fuente en el thread (por ejemplo en un filtro al
+ * final de cada request) o al detener la aplicación.
+ * </p>
+ */
+public final class EntropySources {
+
+    private static final int DEFAULT_BLOCK_SIZE = 512;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    public static final EntropySource SECURE = secure(EntropySources::newSecureRandom, DEFAULT_BLOCK_SIZE);
+
+    public static final EntropySource NON_CRYPTO = new EntropySource() {
+        @Override
+        public long nextLong() {
+            return ThreadLocalRandom.current().nextLong();
+        }
+
+        @Override
+        public String toString() {
+            return "EntropySource[non-crypto]";
+        }
+    };
+
+    private EntropySources() {
+        //No public constructor
+    }
+
+    /**
+     * Crea una fuente con un SecureRandom por thread, creado con "factory" la primera vez que el thread la usa. Cada
+     * thread pide a su SecureRandom "blockSize" bytes de una vez y los consume de a 8.
+     *
+     * @param factory Proveedor de los SecureRandom, uno por thread
+     * @param blockSize Cantidad de bytes que se piden por vez, múltiplo de 8
+     * @return Fuente con SecureRandom por thread
+     */
+    public static EntropySource secure(Supplier<? extends SecureRandom> factory, int blockSize) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory must not be null");
+        }
+        if (blockSize <= 0 || blockSize % Long.BYTES != 0) {
+            throw new IllegalArgumentException("Block size must be a positive multiple of " + Long.BYTES);
+        }
+        return new BufferedSecureSource(factory, blockSize);
+    }
+
+    /**
+     * DRBG no sincroniza entre instancias, a diferencia de NativePRNG (el default en Linux), que usa un lock global.
+     */
+    private static SecureRandom newSecureRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private static final class BufferedSecureSource implements EntropySource {
+
+        private final ThreadLocal<Block> blocks;
+
+        private BufferedSecureSource(Supplier<? extends SecureRandom> factory, int blockSize) {
+            this.blocks = ThreadLocal.withInitial(() -> new Block(factory.get(), blockSize));
+        }
+
+        @Override
+        public long nextLong() {
+            return blocks.get().nextLong();
+        }
+
+        @Override
+        public void nextLongs(long[] dst, int offset, int count) {
+            Block block = blocks.get();
+            for (int i = offset; i < offset + count; i++) {
+                dst[i] = block.nextLong();
+            }
+        }
+
+        @Override
+        public void releaseCurrentThread() {
+            blocks.remove();
+        }
+
+        @Override
+        public String toString() {
+            return "EntropySource[secure]";
+        }
+    }
+
+    /**
+     * Bytes random de un thread pendientes de consumir.
+     */
+    private static final class Block {
+
+        private final SecureRandom random;
+        private final byte[] bytes;
+        private int position;
+
+        private Block(SecureRandom random, int size) {
+            this.random = random;
+            this.bytes = new byte[size];
+            this.position = size;
+        }
+
+        private long nextLong() {
+            if (position == bytes.length) {
+                random.nextBytes(bytes);
+                position = 0;
+            }
+            long ret = (long) LONGS.get(bytes, position);
+            position += Long.BYTES;
+            return ret;
+        }
+    }
+}
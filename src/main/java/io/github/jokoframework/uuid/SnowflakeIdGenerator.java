@@ -0,0 +1,209 @@
+package io.github.jokoframework.uuid;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * Genera IDs numéricos de 64 bits ordenados por tiempo, al estilo Snowflake, sin coordinación entre nodos. Cada ID
+ * tiene, del bit más significativo al menos significativo:
+ * </p>
+ * <ul>
+ * <li>1 bit en 0, para que los IDs sean positivos.</li>
+ * <li>41 bits de timestamp: milisegundos desde el epoch del generador (por defecto 2020-01-01T00:00:00Z), unos 69
+ * años.</li>
+ * <li>10 bits de nodo: identificador del nodo/worker (0 a 1023), que debe ser distinto en cada instancia que genera
+ * IDs a la vez.</li>
+ * <li>12 bits de secuencia: hasta 4096 IDs por milisegundo y nodo.</li>
+ * </ul>
+ * <p>
+ * El último timestamp y la secuencia se guardan en un {@link AtomicLong} y se avanzan con compare-and-set, sin locks.
+ * Si se agota la secuencia de un milisegundo se espera (sin dormir el hilo) a que el reloj avance, por lo que el
+ * timestamp de los IDs nunca se adelanta al reloj.
+ * </p>
+ * <p>
+ * Si el reloj se atrasa (por ejemplo al sincronizar con NTP) se sigue usando el último timestamp, por lo que los IDs
+ * continúan siendo crecientes; si además se agota la secuencia se espera a que el reloj alcance ese timestamp. Si el
+ * atraso supera la tolerancia configurada se lanza {@link IllegalStateException}.
+ * </p>
+ * <p>
+ * {@link #toBase32(long)} representa los IDs con 13 caracteres del alfabeto Base32 de Crockford, el mismo de los IDs
+ * ordenados por tiempo de {@link TXUUIDGenerator}, que preserva el orden.
+ * </p>
+ */
+public final class SnowflakeIdGenerator {
+
+    public static final int TIMESTAMP_BITS = 41;
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    /**
+     * 2020-01-01T00:00:00Z
+     */
+    public static final long DEFAULT_EPOCH = 1577836800000L;
+
+    public static final long DEFAULT_MAX_CLOCK_ROLLBACK_MILLIS = 5000;
+
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // 13 caracteres de 5 bits: el primero solo tiene los 4 bits más significativos (el de signo siempre en 0)
+    private static final int BASE32_LENGTH = 13;
+    private static final int BASE32_LOW_CHARACTERS = BASE32_LENGTH - 1;
+
+    private final long nodeId;
+    private final long epoch;
+    private final long maxClockRollbackMillis;
+    private final LongSupplier clock;
+
+    // último timestamp (relativo al epoch) y secuencia: timestamp << SEQUENCE_BITS | secuencia
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Generador con el epoch y la tolerancia de atraso del reloj por defecto.
+     *
+     * @param nodeId identificador del nodo, entre 0 y {@link #MAX_NODE_ID}
+     */
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, DEFAULT_EPOCH, DEFAULT_MAX_CLOCK_ROLLBACK_MILLIS);
+    }
+
+    /**
+     * @param nodeId identificador del nodo, entre 0 y {@link #MAX_NODE_ID}
+     * @param epoch milisegundos desde 1970-01-01T00:00:00Z desde los que se cuentan los timestamps. Todos los nodos
+     *              deben usar el mismo
+     * @param maxClockRollbackMillis máximo atraso del reloj, en milisegundos, que se tolera usando el último timestamp
+     */
+    public SnowflakeIdGenerator(long nodeId, long epoch, long maxClockRollbackMillis) {
+        this(nodeId, epoch, maxClockRollbackMillis, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, long epoch, long maxClockRollbackMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        if (maxClockRollbackMillis < 0) {
+            throw new IllegalArgumentException("maxClockRollbackMillis must not be negative");
+        }
+        this.nodeId = nodeId;
+        this.epoch = epoch;
+        this.maxClockRollbackMillis = maxClockRollbackMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * @return nuevo ID, mayor que todos los anteriores de este generador
+     * @throws IllegalStateException si el reloj se atrasó más que la tolerancia, es anterior al epoch o se agotaron
+     *                               los 41 bits de timestamp
+     */
+    public long nextId() {
+        long now = now();
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if (lastTimestamp - now > maxClockRollbackMillis) {
+                throw new IllegalStateException("Clock moved backwards " + (lastTimestamp - now)
+                        + "ms, more than the tolerated " + maxClockRollbackMillis + "ms");
+            } else if ((current & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                // Secuencia agotada en el último milisegundo: se espera a
+                // que el reloj lo pase
+                Thread.onSpinWait();
+                now = now();
+                continue;
+            } else {
+                // Mismo milisegundo o reloj atrasado dentro de la tolerancia
+                next = current + 1;
+            }
+            long timestamp = next >>> SEQUENCE_BITS;
+            if (timestamp > MAX_TIMESTAMP) {
+                throw new IllegalStateException("Timestamp overflow, the epoch " + epoch + " is too old");
+            }
+            if (state.compareAndSet(current, next)) {
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    private long now() {
+        long ret = clock.getAsLong() - epoch;
+        if (ret < 0) {
+            throw new IllegalStateException("Clock is before the epoch " + epoch);
+        }
+        return ret;
+    }
+
+    /**
+     * @return nuevo ID representado en Base32, ver {@link #toBase32(long)}
+     */
+    public String generate() {
+        return toBase32(nextId());
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @param id ID generado con este epoch
+     * @return milisegundos desde 1970-01-01T00:00:00Z en que se generó el ID
+     */
+    public long getTimestamp(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + epoch;
+    }
+
+    /**
+     * @param id ID generado por un SnowflakeIdGenerator
+     * @return nodo que generó el ID
+     */
+    public static long getNodeId(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    /**
+     * @param id ID generado por un SnowflakeIdGenerator
+     * @return secuencia del ID dentro de su milisegundo
+     */
+    public static long getSequence(long id) {
+        return id & SEQUENCE_MASK;
+    }
+
+    /**
+     * Representa un ID con 13 caracteres Base32 de Crockford. El orden de los Strings es el mismo que el de los IDs.
+     *
+     * @param id ID positivo
+     * @return ID en Base32
+     */
+    public static String toBase32(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("id must not be negative");
+        }
+        char[] chars = new char[BASE32_LENGTH];
+        Base32Encoder.encode(0, id, BASE32_LENGTH, Base32Encoder.CROCKFORD, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Inversa de {@link #toBase32(long)}.
+     *
+     * @param base32 ID en Base32
+     * @return ID
+     * @throws IllegalArgumentException si no es un ID válido
+     */
+    public static long fromBase32(String base32) {
+        if (base32 == null || base32.length() != BASE32_LENGTH) {
+            throw new IllegalArgumentException("Not a Snowflake ID: " + base32);
+        }
+        long high = Base32Encoder.decodeCrockford(base32, 0, 1);
+        if (high >= 1L << (Long.SIZE - 1 - BASE32_LOW_CHARACTERS * Base32Encoder.BITS_PER_CHARACTER)) {
+            throw new IllegalArgumentException("Not a Snowflake ID: " + base32);
+        }
+        return (high << (BASE32_LOW_CHARACTERS * Base32Encoder.BITS_PER_CHARACTER))
+                | Base32Encoder.decodeCrockford(base32, 1, BASE32_LOW_CHARACTERS);
+    }
+}
@@ -1,14 +1,17 @@
 package io.github.jokoframework.uuid;
 
-import org.apache.commons.codec.binary.Base32;
-
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
  * Esta clase se creo para generar UUIDs. Los UUIDs se
- * utilizan en base a la clase {@link UUID} utilizando primero los bits menos
- * significativos (con mayor entropía) y los que correspondan del long mas
+ * arman con dos longs random, como los de la clase {@link UUID}, utilizando
+ * primero los bits menos significativos y los que correspondan del long mas
  * significativo
  * </p>
  * <p>
@@ -108,6 +111,29 @@ import java.util.UUID;
  * <p>
  *     Los posibles largos de caracteres en base a este algoritmo son: 12,16,20
  * </p>
+ * <p>
+ * IDs ordenados por tiempo
+ * </p>
+ * <p>
+ * Con {@link #timeOrdered(int)} se generan IDs al estilo ULID: los primeros 10
+ * caracteres son el timestamp en milisegundos y el resto es random. Así los
+ * inserts en la BD son secuenciales y se pueden hacer búsquedas por rango de
+ * tiempo (ver {@link #minIdFor(long)}). Dentro de un mismo milisegundo la parte
+ * random se incrementa en 1, por lo que los IDs de un mismo generador son
+ * estrictamente crecientes. Estos IDs usan el alfabeto Base32 de Crockford
+ * (0-9, A-Z sin I, L, O, U), que a diferencia del alfabeto estándar preserva el
+ * orden al comparar los Strings.
+ * </p>
+ * <p>
+ * Fuente de los bits random
+ * </p>
+ * <p>
+ * Los bits random se leen de un {@link EntropySource}. Por defecto es
+ * {@link EntropySources#SECURE}, un SecureRandom por thread, que a diferencia
+ * de {@link UUID#randomUUID()} no serializa los threads en un único
+ * SecureRandom. Para IDs que no necesitan ser impredecibles se puede usar
+ * {@link EntropySources#NON_CRYPTO}.
+ * </p>
  * @author danicricco
  *
  */
@@ -120,15 +146,49 @@ public class TXUUIDGenerator {
 
     private final int characterLength;
     private final int numberOfOctets;
+    // cantidad de caracteres de los UUIDs generados
+    private final int encodedLength;
 
     private static final int DEFAULT_STRING_LENGTH = 12;
 
+    private static final int TIMESTAMP_CHARACTERS = 10;
+    private static final int MIN_TIME_ORDERED_LENGTH = 16;
+    private static final int MAX_TIME_ORDERED_LENGTH = 26;
+
+    // cantidad de IDs que se codifican juntos en la generación por lotes
+    private static final int BATCH_SIZE = 256;
+
+    private final EntropySource entropy;
+
+    private final boolean timeOrdered;
+    // bits random de los IDs ordenados por tiempo
+    private final int randomBits;
+
+    // último ID ordenado por tiempo generado: timestamp y parte random (hi:lo)
+    private long lastMillis = -1;
+    private long lastRandomHi;
+    private long lastRandomLo;
+
     /**
      * Como máximo se producen UUIDs de longitud "characterLength". La longitud máxima de caracteres es 27
      * 
      * @param characterLength longitud máxima de caracteres
      */
     public TXUUIDGenerator(int characterLength) {
+        this(characterLength, EntropySources.SECURE);
+    }
+
+    /**
+     * Como máximo se producen UUIDs de longitud "characterLength", con los bits random de "entropy".
+     *
+     * @param characterLength longitud máxima de caracteres
+     * @param entropy fuente de los bits random
+     */
+    public TXUUIDGenerator(int characterLength, EntropySource entropy) {
+        if (entropy == null) {
+            throw new IllegalArgumentException("Entropy source must not be null");
+        }
+        this.entropy = entropy;
         this.characterLength = characterLength;
         this.numberOfOctets = (characterLength * BITS_PER_CHARACTER) / BYTE_SIZE;
         if (this.numberOfOctets > (Long.SIZE / BYTE_SIZE) * 2) {
@@ -136,6 +196,55 @@ public class TXUUIDGenerator {
             // funciona
             throw new IllegalArgumentException("invalid  characterLength. Too Long");
         }
+        this.encodedLength = (numberOfOctets * BYTE_SIZE + BITS_PER_CHARACTER - 1) / BITS_PER_CHARACTER;
+        this.timeOrdered = false;
+        this.randomBits = 0;
+    }
+
+    private TXUUIDGenerator(int characterLength, boolean timeOrdered, EntropySource entropy) {
+        this.entropy = entropy;
+        this.characterLength = characterLength;
+        this.numberOfOctets = 0;
+        this.encodedLength = characterLength;
+        this.timeOrdered = timeOrdered;
+        this.randomBits = (characterLength - TIMESTAMP_CHARACTERS) * BITS_PER_CHARACTER;
+    }
+
+    /**
+     * Crea un generador de IDs ordenados por tiempo: 10 caracteres de timestamp
+     * y "characterLength - 10" caracteres random. Con 16 caracteres quedan 30
+     * bits random por milisegundo, con 26 (como ULID) 80 bits.
+     *
+     * @param characterLength longitud exacta de los IDs, entre 16 y 26
+     * @return generador de IDs ordenados por tiempo
+     */
+    public static TXUUIDGenerator timeOrdered(int characterLength) {
+        return timeOrdered(characterLength, EntropySources.SECURE);
+    }
+
+    /**
+     * Igual que {@link #timeOrdered(int)}, con los bits random de "entropy".
+     *
+     * @param characterLength longitud exacta de los IDs, entre 16 y 26
+     * @param entropy fuente de los bits random
+     * @return generador de IDs ordenados por tiempo
+     */
+    public static TXUUIDGenerator timeOrdered(int characterLength, EntropySource entropy) {
+        if (entropy == null) {
+            throw new IllegalArgumentException("Entropy source must not be null");
+        }
+        if (characterLength < MIN_TIME_ORDERED_LENGTH || characterLength > MAX_TIME_ORDERED_LENGTH) {
+            throw new IllegalArgumentException("invalid characterLength. Must be between "
+                    + MIN_TIME_ORDERED_LENGTH + " and " + MAX_TIME_ORDERED_LENGTH);
+        }
+        return new TXUUIDGenerator(characterLength, true, entropy);
+    }
+
+    /**
+     * @return true si los IDs generados están ordenados por tiempo
+     */
+    public boolean isTimeOrdered() {
+        return timeOrdered;
     }
 
     /**
@@ -151,46 +260,267 @@ public class TXUUIDGenerator {
      * @return
      */
     public String generate() {
+        char[] id = new char[encodedLength];
+        generateInto(id, 0);
+        return new String(id);
+    }
 
-        UUID uuid = UUID.randomUUID();
-
-        byte[] buffer = new byte[numberOfOctets];
+    /**
+     * Genera un UUID y escribe sus caracteres en "dst", sin crear objetos
+     * intermedios.
+     *
+     * @param dst destino, con al menos {@link #getEncodedLength()} posiciones
+     *            libres a partir de "offset"
+     * @param offset posición donde escribir el primer caracter
+     * @return cantidad de caracteres escritos
+     */
+    public int generateInto(char[] dst, int offset) {
+        if (timeOrdered) {
+            // Los bits random se piden antes de tomar el lock
+            long randomLo = entropy.nextLong();
+            long randomHi = randomBits > Long.SIZE ? entropy.nextLong() : 0;
+            synchronized (this) {
+                nextTimeOrdered(randomHi, randomLo);
+                Base32Encoder.encode(0, lastMillis, TIMESTAMP_CHARACTERS, Base32Encoder.CROCKFORD, dst, offset);
+                Base32Encoder.encode(lastRandomHi, lastRandomLo, encodedLength - TIMESTAMP_CHARACTERS,
+                        Base32Encoder.CROCKFORD, dst, offset + TIMESTAMP_CHARACTERS);
+            }
+        } else {
+            encodeRandom(entropy.nextLong(), entropy.nextLong(), dst, offset);
+        }
+        return encodedLength;
+    }
 
-        long mostSignificantBits = uuid.getMostSignificantBits();
-        int numberOfOctectsFromMostSignificant = 0;
-        int numberOfOctectsFromLeastSignificantBits = BYTE_SIZE;
-        if (numberOfOctets > Long.SIZE / BYTE_SIZE) {
-            // Calcula la cantidad de octetos de los bytes mas significativos
-            numberOfOctectsFromMostSignificant = numberOfOctets - Long.SIZE / BYTE_SIZE;
-            toArray(mostSignificantBits, numberOfOctectsFromMostSignificant, buffer, 0);
+    /**
+     * Igual que {@link #generateInto(char[], int)}, escribiendo los
+     * caracteres en ASCII.
+     *
+     * @param dst destino, con al menos {@link #getEncodedLength()} posiciones
+     *            libres a partir de "offset"
+     * @param offset posición donde escribir el primer caracter
+     * @return cantidad de bytes escritos
+     */
+    public int generateInto(byte[] dst, int offset) {
+        if (timeOrdered) {
+            // Los bits random se piden antes de tomar el lock
+            long randomLo = entropy.nextLong();
+            long randomHi = randomBits > Long.SIZE ? entropy.nextLong() : 0;
+            synchronized (this) {
+                nextTimeOrdered(randomHi, randomLo);
+                Base32Encoder.encode(0, lastMillis, TIMESTAMP_CHARACTERS, Base32Encoder.CROCKFORD, dst, offset);
+                Base32Encoder.encode(lastRandomHi, lastRandomLo, encodedLength - TIMESTAMP_CHARACTERS,
+                        Base32Encoder.CROCKFORD, dst, offset + TIMESTAMP_CHARACTERS);
+            }
         } else {
-            numberOfOctectsFromLeastSignificantBits = numberOfOctets;
+            long msb = entropy.nextLong();
+            long lsb = entropy.nextLong();
+            Base32Encoder.encodeFromTop(octets(msb, lsb, numberOfOctets, 0), octets(msb, lsb, numberOfOctets, 1),
+                    encodedLength, Base32Encoder.RFC4648, dst, offset);
+        }
+        return encodedLength;
+    }
+
+    /**
+     * Genera "count" UUIDs de una vez. Los bits random se piden en bloques y
+     * los IDs se codifican en un buffer compartido, por lo que es más
+     * eficiente que llamar a {@link #generate()} en un loop.
+     *
+     * @param count cantidad de UUIDs
+     * @return array con los UUIDs generados
+     */
+    public String[] generate(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+        String[] ids = new String[count];
+        fill(ids);
+        return ids;
+    }
+
+    /**
+     * Carga un UUID nuevo en cada posición de "ids", igual que
+     * {@link #generate(int)}.
+     *
+     * @param ids array a cargar
+     */
+    public void fill(String[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
         }
+        int batch = Math.min(ids.length, BATCH_SIZE);
+        char[] chars = new char[batch * encodedLength];
+        long[] random = timeOrdered ? null : new long[batch * 2];
+        for (int start = 0; start < ids.length; start += batch) {
+            int count = Math.min(batch, ids.length - start);
+            if (timeOrdered) {
+                encodeTimeOrdered(chars, count);
+            } else {
+                entropy.nextLongs(random, 0, count * 2);
+                for (int i = 0; i < count; i++) {
+                    encodeRandom(random[i * 2], random[i * 2 + 1], chars, i * encodedLength);
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                ids[start + i] = new String(chars, i * encodedLength, encodedLength);
+            }
+        }
+    }
 
-        long leastSignificantBits = uuid.getLeastSignificantBits();
-        toArray(leastSignificantBits, numberOfOctectsFromLeastSignificantBits, buffer,
-                numberOfOctectsFromMostSignificant);
+    /**
+     * Retorna un Stream infinito de UUIDs, generados por lotes a medida que
+     * se consumen. Limitarlo con {@link Stream#limit(long)}. Los UUIDs no
+     * se garantizan distintos (son aleatorios), por lo que el Stream no es
+     * {@link java.util.Spliterator#DISTINCT}.
+     *
+     * @return Stream de UUIDs
+     */
+    public Stream<String> stream() {
+        return StreamSupport.stream(new BatchSpliterator(), false);
+    }
 
-        // Each line of encoded data will be at most of the given length
-        // (rounded down to nearest multiple of
+    /**
+     * @return cantidad de caracteres de los UUIDs generados
+     */
+    public int getEncodedLength() {
+        return encodedLength;
+    }
 
-        int lineLength = characterLength + characterLength % BYTE_SIZE;
+    private void encodeRandom(long mostSignificantBits, long leastSignificantBits, char[] dst, int offset) {
+        Base32Encoder.encodeFromTop(octets(mostSignificantBits, leastSignificantBits, numberOfOctets, 0),
+                octets(mostSignificantBits, leastSignificantBits, numberOfOctets, 1), encodedLength,
+                Base32Encoder.RFC4648, dst, offset);
+    }
 
-        Base32 encoder = new Base32(lineLength);
-        String s = encoder.encodeToString(buffer);
+    /**
+     * Codifica "count" IDs ordenados por tiempo consecutivos en "dst", tomando
+     * el lock una única vez.
+     */
+    private void encodeTimeOrdered(char[] dst, int count) {
+        long randomLo = entropy.nextLong();
+        long randomHi = randomBits > Long.SIZE ? entropy.nextLong() : 0;
+        synchronized (this) {
+            for (int i = 0; i < count; i++) {
+                if (nextTimeOrdered(randomHi, randomLo)) {
+                    // Solo ocurre al cambiar de milisegundo
+                    randomLo = entropy.nextLong();
+                    randomHi = randomBits > Long.SIZE ? entropy.nextLong() : 0;
+                }
+                int offset = i * encodedLength;
+                Base32Encoder.encode(0, lastMillis, TIMESTAMP_CHARACTERS, Base32Encoder.CROCKFORD, dst, offset);
+                Base32Encoder.encode(lastRandomHi, lastRandomLo, encodedLength - TIMESTAMP_CHARACTERS,
+                        Base32Encoder.CROCKFORD, dst, offset + TIMESTAMP_CHARACTERS);
+            }
+        }
+    }
 
-        // TODO para mejorar la busqueda de las transacciones en la BD se podría
-        // incluir como primer byte algo con respecto al tiempo. Ejemplo agrupar
-        // las transacciones cada x segundos. Esto permitiría que el arbol de
-        // busqueda basado en los IDs de las transacciones sea efectivamente
-        // util
-        // Aca un articulo interesante al respecto
-        // https://eager.io/blog/how-long-does-an-id-need-to-be/
+    /**
+     * Retorna los octetos que antes se copiaban con {@link #toArray} a un
+     * buffer, empaquetados big-endian en un long: el bloque 0 tiene los
+     * octetos 0 a 7 y el bloque 1 los octetos 8 a 15. La codificación Base32
+     * de los dos bloques es la misma que la del buffer.
+     */
+    static long octets(long mostSignificantBits, long leastSignificantBits, int numberOfOctets, int block) {
+        // Como en generate, si hacen falta mas de 8 octetos los primeros
+        // salen de los bits mas significativos
+        int fromMostSignificant = Math.max(numberOfOctets - Long.SIZE / BYTE_SIZE, 0);
+        int first = block * (Long.SIZE / BYTE_SIZE);
+        int last = Math.min(first + Long.SIZE / BYTE_SIZE, numberOfOctets);
+        long ret = 0;
+        for (int i = first; i < last; i++) {
+            long source = i < fromMostSignificant ? mostSignificantBits : leastSignificantBits;
+            // mismo desplazamiento que toArray
+            long octet = (source >> (i * BYTE_SIZE)) & 0XFF;
+            ret |= octet << (Long.SIZE - BYTE_SIZE * (i - first + 1));
+        }
+        return ret;
+    }
 
-        // FIXME bajon que despues de tanto cuidado con traduccion a binario
-        // tenga que hacer un replace
-        return s.replace("=", "").trim();
+    /**
+     * Avanza el estado al siguiente ID ordenado por tiempo. Debe llamarse con
+     * el lock del generador. "randomHi:randomLo" se usa como parte random si
+     * cambia el milisegundo.
+     *
+     * @return true si se usó "randomHi:randomLo"
+     */
+    private boolean nextTimeOrdered(long randomHi, long randomLo) {
+        long now = System.currentTimeMillis();
+        if (now > lastMillis) {
+            lastMillis = now;
+        } else if (incrementRandom()) {
+            return false;
+        } else {
+            // Se agotó la parte random del milisegundo (o el reloj se
+            // atrasó y se agotó la del último): se usa el siguiente
+            lastMillis++;
+        }
+        nextRandom(randomHi, randomLo);
+        return true;
+    }
 
+    private void nextRandom(long randomHi, long randomLo) {
+        lastRandomLo = randomLo & lowMask(randomBits);
+        lastRandomHi = randomBits > Long.SIZE ? randomHi & lowMask(randomBits - Long.SIZE) : 0;
+    }
+
+    /**
+     * Incrementa en 1 la parte random.
+     *
+     * @return false si la parte random ya tenía su valor máximo
+     */
+    private boolean incrementRandom() {
+        if (randomBits < Long.SIZE) {
+            if (lastRandomLo == lowMask(randomBits)) {
+                return false;
+            }
+            lastRandomLo++;
+            return true;
+        }
+        if (lastRandomLo != -1L) {
+            lastRandomLo++;
+            return true;
+        }
+        if (lastRandomHi == lowMask(randomBits - Long.SIZE)) {
+            return false;
+        }
+        lastRandomLo = 0;
+        lastRandomHi++;
+        return true;
+    }
+
+    private static long lowMask(int bits) {
+        return bits >= Long.SIZE ? -1L : (1L << bits) - 1;
+    }
+
+    /**
+     * Retorna el menor ID ordenado por tiempo que puede generarse en el
+     * milisegundo "epochMillis". Sirve para buscar por rango de tiempo, por
+     * ejemplo <code>id &gt;= minIdFor(desde) AND id &lt; minIdFor(hasta)</code>.
+     *
+     * @param epochMillis milisegundos desde 1970-01-01T00:00:00Z
+     * @return ID con el timestamp indicado y la parte random en 0
+     */
+    public String minIdFor(long epochMillis) {
+        if (!timeOrdered) {
+            throw new IllegalStateException("Only time ordered IDs can be searched by time");
+        }
+        char[] id = new char[characterLength];
+        Base32Encoder.encode(0, epochMillis, TIMESTAMP_CHARACTERS, Base32Encoder.CROCKFORD, id, 0);
+        Base32Encoder.encode(0, 0, characterLength - TIMESTAMP_CHARACTERS, Base32Encoder.CROCKFORD, id,
+                TIMESTAMP_CHARACTERS);
+        return new String(id);
+    }
+
+    /**
+     * Retorna el timestamp de un ID generado en modo ordenado por tiempo.
+     *
+     * @param timeOrderedId ID generado por un generador {@link #timeOrdered(int)}
+     * @return milisegundos desde 1970-01-01T00:00:00Z
+     */
+    public static long getTimestamp(String timeOrderedId) {
+        if (timeOrderedId == null || timeOrderedId.length() < TIMESTAMP_CHARACTERS) {
+            throw new IllegalArgumentException("Not a time ordered ID: " + timeOrderedId);
+        }
+        return Base32Encoder.decodeCrockford(timeOrderedId, 0, TIMESTAMP_CHARACTERS);
     }
 
     /**
@@ -227,4 +557,27 @@ public class TXUUIDGenerator {
         return salida;
     }
 
+
+    /**
+     * Spliterator infinito que genera los UUIDs de a {@link #BATCH_SIZE}.
+     */
+    private final class BatchSpliterator extends Spliterators.AbstractSpliterator<String> {
+
+        private final String[] batch = new String[BATCH_SIZE];
+        private int position = BATCH_SIZE;
+
+        private BatchSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (position == batch.length) {
+                fill(batch);
+                position = 0;
+            }
+            action.accept(batch[position++]);
+            return true;
+        }
+    }
 }
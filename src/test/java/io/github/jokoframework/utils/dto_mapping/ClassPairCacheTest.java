@@ -0,0 +1,79 @@
+package io.github.jokoframework.utils.dto_mapping;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ClassPairCacheTest {
+
+    @Test
+    public void testCachesPerPair() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        ClassPairCache<Object> cache = new ClassPairCache<>((a, b) -> created.incrementAndGet());
+        Object value = cache.get(String.class, ClassPairCacheTest.class);
+        Assert.assertSame(value, cache.get(String.class, ClassPairCacheTest.class));
+        Assert.assertSame(cache.get(ClassPairCacheTest.class, String.class),
+                cache.get(ClassPairCacheTest.class, String.class));
+        Assert.assertEquals(2, created.get());
+
+        cache.remove(String.class, ClassPairCacheTest.class);
+        Assert.assertNotEquals(value, cache.get(String.class, ClassPairCacheTest.class));
+
+        //Classloaders no relacionados: no se cachea
+        try (URLClassLoader isolated = new ChildFirstLoader(null)) {
+            Class<?> other = isolated.loadClass(Bean.class.getName());
+            Assert.assertNotEquals(cache.get(other, ClassPairCacheTest.class),
+                    cache.get(other, ClassPairCacheTest.class));
+        }
+    }
+
+    @Test
+    public void testDoesNotRetainChildClasses() throws Exception {
+        ClassPairCache<Object> cache = new ClassPairCache<>((a, b) -> new Object[] {a, b});
+        WeakReference<ClassLoader> loader = loadAndCache(cache);
+        for (int i = 0; i < 20 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Assert.assertNull("The child classloader is still reachable", loader.get());
+    }
+
+    private WeakReference<ClassLoader> loadAndCache(ClassPairCache<Object> cache) throws Exception {
+        ChildFirstLoader child = new ChildFirstLoader(getClass().getClassLoader());
+        Class<?> childClass = child.loadClass(Bean.class.getName());
+        Assert.assertNotSame(Bean.class, childClass);
+        //el valor referencia a las dos clases, como un copier de un entity de la aplicación a un DTO compartido
+        Assert.assertSame(cache.get(childClass, ClassPairCacheTest.class),
+                cache.get(childClass, ClassPairCacheTest.class));
+        child.close();
+        return new WeakReference<>(child);
+    }
+
+    public static class Bean {
+    }
+
+    /**
+     * Carga {@link Bean} por sí mismo en lugar de delegar en el padre.
+     */
+    private static final class ChildFirstLoader extends URLClassLoader {
+
+        private ChildFirstLoader(ClassLoader parent) {
+            super(new URL[] {Bean.class.getProtectionDomain().getCodeSource().getLocation()}, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.equals(Bean.class.getName())) {
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> ret = findLoadedClass(name);
+                    return ret != null ? ret : findClass(name);
+                }
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+}
@@ -4,12 +4,18 @@ import io.github.jokoframework.utils.dto_mapping.mock.CustomerDTO;
 import io.github.jokoframework.utils.dto_mapping.mock.CustomerEntity;
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.beans.BeanUtils;
 
+import java.beans.ConstructorProperties;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Created by danicricco on 2/26/18.
@@ -40,6 +46,20 @@ public class ConversionTest {
 
     }
 
+    /**
+     * El tipo del DTO se resuelve aunque la subclase no lo declare directamente
+     */
+    @Test
+    public void testToDTOFromDeeperHierarchy(){
+        VipCustomerEntity vip = new VipCustomerEntity();
+        vip.setFirstName("John");
+        vip.setLastName("Locke");
+        CustomerDTO dto = vip.toDTO();
+        Assert.assertEquals("John", dto.getFirstName());
+        Assert.assertEquals("Locke", dto.getLastName());
+        Assert.assertEquals(CustomerDTO.class, vip.getDTOClass());
+    }
+
     private void checkValuesOfMockObject(CustomerEntity pCustomer, CustomerDTO pCustomerDTO) {
         Assert.assertEquals(pCustomer.getFirstName(), pCustomerDTO.getFirstName());
         Assert.assertEquals(pCustomer.getLastName(), pCustomerDTO.getLastName());
@@ -65,6 +85,242 @@ public class ConversionTest {
 
     }
 
+    @Test
+    public void testConvertStreamAndParallel(){
+        List<CustomerEntity> entities = new ArrayList<CustomerEntity>();
+        for (int i = 0; i < 3000; i++) {
+            CustomerEntity customer = createCustomer();
+            customer.setFirstName("name" + i);
+            entities.add(customer);
+        }
+
+        List<CustomerDTO> parallel = DTOUtils.fromEntityToDTOParallel(entities, CustomerDTO.class);
+        Assert.assertEquals(entities.size(), parallel.size());
+        for (int i = 0; i < entities.size(); i++) {
+            checkValuesOfMockObject(entities.get(i), parallel.get(i));
+        }
+
+        List<String> names = DTOUtils.toDTOStream(entities, CustomerDTO.class)
+                .skip(10).limit(2).map(CustomerDTO::getFirstName).collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList("name10", "name11"), names);
+        Assert.assertTrue(DTOUtils.fromEntityToDTO((Iterable<CustomerEntity>) null, CustomerDTO.class).isEmpty());
+    }
+
+    @Test
+    public void testLazyList(){
+        List<CustomerEntity> entities = new ArrayList<CustomerEntity>();
+        for (int i = 0; i < 100; i++) {
+            entities.add(createCustomer());
+        }
+
+        LazyDTOList<CustomerDTO> lazy = DTOUtils.lazyFromEntityToDTO(entities, CustomerDTO.class);
+        Assert.assertEquals(100, lazy.size());
+        Assert.assertEquals(0, lazy.convertedCount());
+
+        List<CustomerDTO> page = lazy.subList(20, 30);
+        for (int i = 0; i < page.size(); i++) {
+            checkValuesOfMockObject(entities.get(20 + i), page.get(i));
+        }
+        Assert.assertEquals(10, lazy.convertedCount());
+        Assert.assertSame(lazy.get(25), page.get(5));
+    }
+
+    @Test
+    public void testDeepMappingWithCycles(){
+        OrderEntity order = new OrderEntity();
+        order.setCustomer(createCustomer());
+        for (int i = 0; i < 3; i++) {
+            LineEntity line = new LineEntity();
+            line.setQuantity(i);
+            line.setOrder(order);
+            order.getLines().add(line);
+        }
+
+        List<OrderDTO> dtos = DTOUtils.fromEntityToDTODeep(Collections.singletonList(order), OrderDTO.class,
+                DeepMapper.UNLIMITED);
+        OrderDTO dto = dtos.get(0);
+        checkValuesOfMockObject(order.getCustomer(), dto.getCustomer());
+        Assert.assertEquals(3, dto.getLines().size());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(i, dto.getLines().get(i).getQuantity());
+            Assert.assertSame(dto, dto.getLines().get(i).getOrder());
+        }
+
+        OrderDTO shallow = DTOUtils.deepCopy(order, new OrderDTO(), 0);
+        Assert.assertNull(shallow.getCustomer());
+        Assert.assertNull(shallow.getLines());
+    }
+
+    @Test
+    public void testDeepMappingToAbstractType(){
+        CardPaymentEntity card = new CardPaymentEntity();
+        card.setAmount(100);
+        card.setCard("4111");
+        CashPayment cash = new CashPayment();
+        cash.setAmount(50);
+        InvoiceEntity invoice = new InvoiceEntity();
+        invoice.setPayment(card);
+        invoice.setCash(cash);
+
+        InvoiceDTO dto = DTOUtils.deepCopy(invoice, new InvoiceDTO());
+        Assert.assertTrue(dto.getPayment() instanceof CardPaymentDTO);
+        Assert.assertEquals(100, dto.getPayment().getAmount());
+        Assert.assertEquals("4111", ((CardPaymentDTO) dto.getPayment()).getCard());
+        //No hay una clase concreta a la que mapear CashPayment
+        Assert.assertNull(dto.getCash());
+    }
+
+    @Test
+    public void testPatchEntity(){
+        CustomerEntity entity = createCustomer();
+        CustomerDTO dto = entity.toDTO();
+        dto.setLastName("Locke");
+        dto.setBirthDate(null);
+
+        Set<String> changed = DTOUtils.patchEntity(dto, entity, true);
+        Assert.assertEquals(Collections.singleton("lastName"), changed);
+        Assert.assertEquals("Locke", entity.getLastName());
+        Assert.assertNotNull(entity.getBirthDate());
+
+        changed = DTOUtils.patchEntity(dto, entity, false);
+        Assert.assertEquals(Collections.singleton("birthDate"), changed);
+        Assert.assertNull(entity.getBirthDate());
+        Assert.assertTrue(DTOUtils.patchEntity(dto, entity, false).isEmpty());
+    }
+
+    @Test
+    public void testMappingBackends(){
+        CustomerEntity customer = createCustomer();
+        for (MappingBackend backend : Arrays.asList(MappingBackends.ACCESSORS, MappingBackends.SPRING,
+                MappingBackends.ORIKA)) {
+            MappingBackends.register(CustomerEntity.class, CustomerDTO.class, backend);
+            try {
+                Assert.assertSame(backend, MappingBackends.forPair(CustomerEntity.class, CustomerDTO.class));
+                checkValuesOfMockObject(customer, customer.toDTO());
+            } finally {
+                MappingBackends.register(CustomerEntity.class, CustomerDTO.class, null);
+            }
+        }
+        Assert.assertSame(MappingBackends.getDefault(),
+                MappingBackends.forPair(CustomerEntity.class, CustomerDTO.class));
+    }
+
+    @Test
+    public void testMappingConfig(){
+        Account account = new Account();
+        account.setStatus(Status.ACTIVE);
+        account.setCreated(new Date(1000L));
+        account.setOwner("Hobbes");
+        account.setSecret("s3cr3t");
+
+        AccountDTO dto = BeanCopier.copy(account, new AccountDTO());
+        Assert.assertEquals(Long.valueOf(1000L), dto.getCreatedMillis());
+        Assert.assertNull(dto.getSecret());
+        Assert.assertNull(dto.getStatus());
+        Assert.assertNull(dto.getOwnerName());
+
+        MappingConfig.between(Account.class, AccountDTO.class)
+                .field("owner", "ownerName")
+                .convert(Status.class, String.class, Status::getCode)
+                .register();
+        try {
+            dto = BeanCopier.copy(account, new AccountDTO());
+            Assert.assertEquals("A", dto.getStatus());
+            Assert.assertEquals("Hobbes", dto.getOwnerName());
+            Assert.assertEquals(Long.valueOf(1000L), dto.getCreatedMillis());
+            Assert.assertNull(dto.getSecret());
+        } finally {
+            MappingConfig.unregister(Account.class, AccountDTO.class);
+        }
+        Assert.assertNull(BeanCopier.copy(account, new AccountDTO()).getStatus());
+    }
+
+    @Test
+    public void testAnnotationsDontApplyBetweenSameClass(){
+        AccountDTO dto = new AccountDTO();
+        dto.setCreatedMillis(1000L);
+        dto.setSecret("s3cr3t");
+        dto.setStatus("A");
+
+        AccountDTO copy = BeanCopier.copy(dto, new AccountDTO());
+        Assert.assertEquals(Long.valueOf(1000L), copy.getCreatedMillis());
+        Assert.assertEquals("s3cr3t", copy.getSecret());
+        Assert.assertEquals("A", copy.getStatus());
+    }
+
+    @Test
+    public void testImmutableDTO(){
+        ImmutableCustomerEntity customer = new ImmutableCustomerEntity();
+        customer.setFirstName("Thomas");
+        customer.setLastName("Hobbes");
+        customer.setAge(91);
+
+        ImmutableCustomerDTO dto = customer.toDTO();
+        Assert.assertEquals("Thomas", dto.getFirstName());
+        Assert.assertEquals("Hobbes", dto.getLastName());
+        Assert.assertEquals(91, dto.getAge());
+
+        customer.setFirstName(null);
+        dto = DTOUtils.fromEntityToImmutableDTO(customer, ImmutableCustomerDTO.class);
+        Assert.assertNull(dto.getFirstName());
+        Assert.assertEquals("Hobbes", dto.getLastName());
+    }
+
+    @Test
+    public void testImmutableDTOWithMappingConfig(){
+        Account account = new Account();
+        account.setStatus(Status.ACTIVE);
+        account.setCreated(new Date(1000L));
+        account.setOwner("Hobbes");
+        account.setSecret("s3cr3t");
+
+        ImmutableAccountDTO dto = DTOUtils.fromEntityToImmutableDTO(account, ImmutableAccountDTO.class);
+        Assert.assertEquals(Long.valueOf(1000L), dto.getCreatedMillis());
+        Assert.assertNull(dto.getSecret());
+        Assert.assertNull(dto.getStatus());
+        Assert.assertNull(dto.getOwnerName());
+
+        MappingConfig.between(Account.class, ImmutableAccountDTO.class)
+                .field("owner", "ownerName")
+                .convert(Status.class, String.class, Status::getCode)
+                .register();
+        try {
+            dto = DTOUtils.fromEntityToImmutableDTO(account, ImmutableAccountDTO.class);
+            Assert.assertEquals("A", dto.getStatus());
+            Assert.assertEquals("Hobbes", dto.getOwnerName());
+            Assert.assertEquals(Long.valueOf(1000L), dto.getCreatedMillis());
+            Assert.assertNull(dto.getSecret());
+        } finally {
+            MappingConfig.unregister(Account.class, ImmutableAccountDTO.class);
+        }
+        Assert.assertNull(DTOUtils.fromEntityToImmutableDTO(account, ImmutableAccountDTO.class).getStatus());
+    }
+
+    /**
+     * El copier debe copiar exactamente las mismas propiedades que BeanUtils.copyProperties
+     */
+    @Test
+    public void testCopierMatchesBeanUtils(){
+        Source source = new Source();
+        source.setCount(7);
+        source.setTotal(8);
+        source.setTags(Collections.singletonList("a"));
+        source.setCodes(Collections.singletonList("b"));
+        source.setName("x");
+
+        Target expected = new Target();
+        BeanUtils.copyProperties(source, expected);
+        Target actual = BeanCopier.copy(source, new Target());
+
+        Assert.assertEquals(expected.getCount(), actual.getCount());
+        Assert.assertEquals(expected.getTotal(), actual.getTotal());
+        Assert.assertEquals(expected.getTags(), actual.getTags());
+        Assert.assertEquals(expected.getCodes(), actual.getCodes());
+        Assert.assertEquals(expected.name, actual.name);
+        Assert.assertEquals(Arrays.asList("a"), actual.getTags());
+        Assert.assertNull(actual.getCodes());
+    }
+
     private CustomerEntity createCustomer(){
         SimpleDateFormat format=new SimpleDateFormat("dd/mm/yyyy");
         try {
@@ -74,4 +330,234 @@ public class ConversionTest {
             throw new RuntimeException(pE);
         }
     }
+
+    public static class Source {
+        private int count;
+        private Integer total;
+        private List<String> tags;
+        private List<String> codes;
+        private String name;
+
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+        public Integer getTotal() { return total; }
+        public void setTotal(Integer total) { this.total = total; }
+        public List<String> getTags() { return tags; }
+        public void setTags(List<String> tags) { this.tags = tags; }
+        public List<String> getCodes() { return codes; }
+        public void setCodes(List<String> codes) { this.codes = codes; }
+        public void setName(String name) { this.name = name; }
+    }
+
+    public static class Target {
+        private Integer count;
+        private int total;
+        private List<String> tags;
+        private List<Integer> codes;
+        private String name;
+
+        public Integer getCount() { return count; }
+        public void setCount(Integer count) { this.count = count; }
+        public int getTotal() { return total; }
+        public void setTotal(int total) { this.total = total; }
+        public List<String> getTags() { return tags; }
+        public void setTags(List<String> tags) { this.tags = tags; }
+        public List<Integer> getCodes() { return codes; }
+        public void setCodes(List<Integer> codes) { this.codes = codes; }
+        public void setName(String name) { this.name = name; }
+    }
+
+    public static class VipCustomerEntity extends CustomerEntity {
+    }
+
+    public static class OrderEntity extends BaseEntity<OrderDTO> {
+        private CustomerEntity customer;
+        private List<LineEntity> lines = new ArrayList<LineEntity>();
+
+        public CustomerEntity getCustomer() { return customer; }
+        public void setCustomer(CustomerEntity customer) { this.customer = customer; }
+        public List<LineEntity> getLines() { return lines; }
+        public void setLines(List<LineEntity> lines) { this.lines = lines; }
+    }
+
+    public static class LineEntity extends BaseEntity<LineDTO> {
+        private int quantity;
+        private OrderEntity order;
+
+        public int getQuantity() { return quantity; }
+        public void setQuantity(int quantity) { this.quantity = quantity; }
+        public OrderEntity getOrder() { return order; }
+        public void setOrder(OrderEntity order) { this.order = order; }
+    }
+
+    public static class OrderDTO implements BaseDTO {
+        private CustomerDTO customer;
+        private List<LineDTO> lines;
+
+        public CustomerDTO getCustomer() { return customer; }
+        public void setCustomer(CustomerDTO customer) { this.customer = customer; }
+        public List<LineDTO> getLines() { return lines; }
+        public void setLines(List<LineDTO> lines) { this.lines = lines; }
+    }
+
+    public static class LineDTO implements BaseDTO {
+        private int quantity;
+        private OrderDTO order;
+
+        public int getQuantity() { return quantity; }
+        public void setQuantity(int quantity) { this.quantity = quantity; }
+        public OrderDTO getOrder() { return order; }
+        public void setOrder(OrderDTO order) { this.order = order; }
+    }
+
+    public abstract static class PaymentDTO implements BaseDTO {
+        private int amount;
+
+        public int getAmount() { return amount; }
+        public void setAmount(int amount) { this.amount = amount; }
+    }
+
+    public static class CardPaymentDTO extends PaymentDTO {
+        private String card;
+
+        public String getCard() { return card; }
+        public void setCard(String card) { this.card = card; }
+    }
+
+    public static class CardPaymentEntity extends BaseEntity<CardPaymentDTO> {
+        private int amount;
+        private String card;
+
+        public int getAmount() { return amount; }
+        public void setAmount(int amount) { this.amount = amount; }
+        public String getCard() { return card; }
+        public void setCard(String card) { this.card = card; }
+    }
+
+    public static class CashPayment {
+        private int amount;
+
+        public int getAmount() { return amount; }
+        public void setAmount(int amount) { this.amount = amount; }
+    }
+
+    public static class InvoiceEntity {
+        private CardPaymentEntity payment;
+        private CashPayment cash;
+
+        public CardPaymentEntity getPayment() { return payment; }
+        public void setPayment(CardPaymentEntity payment) { this.payment = payment; }
+        public CashPayment getCash() { return cash; }
+        public void setCash(CashPayment cash) { this.cash = cash; }
+    }
+
+    public static class InvoiceDTO implements BaseDTO {
+        private PaymentDTO payment;
+        private PaymentDTO cash;
+
+        public PaymentDTO getPayment() { return payment; }
+        public void setPayment(PaymentDTO payment) { this.payment = payment; }
+        public PaymentDTO getCash() { return cash; }
+        public void setCash(PaymentDTO cash) { this.cash = cash; }
+    }
+
+    public enum Status {
+        ACTIVE("A"), INACTIVE("I");
+
+        private final String code;
+
+        Status(String code) { this.code = code; }
+        public String getCode() { return code; }
+    }
+
+    public static class DateToMillis implements PropertyConverter<Date, Long> {
+        @Override
+        public Long convert(Date value) { return value.getTime(); }
+    }
+
+    public static class Account {
+        private Status status;
+        private Date created;
+        private String owner;
+        private String secret;
+
+        public Status getStatus() { return status; }
+        public void setStatus(Status status) { this.status = status; }
+        public Date getCreated() { return created; }
+        public void setCreated(Date created) { this.created = created; }
+        public String getOwner() { return owner; }
+        public void setOwner(String owner) { this.owner = owner; }
+        public String getSecret() { return secret; }
+        public void setSecret(String secret) { this.secret = secret; }
+    }
+
+    public static class AccountDTO {
+        private String status;
+        @MapFrom(value = "created", converter = DateToMillis.class)
+        private Long createdMillis;
+        private String ownerName;
+        @IgnoreMapping
+        private String secret;
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public Long getCreatedMillis() { return createdMillis; }
+        public void setCreatedMillis(Long createdMillis) { this.createdMillis = createdMillis; }
+        public String getOwnerName() { return ownerName; }
+        public void setOwnerName(String ownerName) { this.ownerName = ownerName; }
+        public String getSecret() { return secret; }
+        public void setSecret(String secret) { this.secret = secret; }
+    }
+
+    public static final class ImmutableAccountDTO {
+        private final String status;
+        @MapFrom(value = "created", converter = DateToMillis.class)
+        private final Long createdMillis;
+        private final String ownerName;
+        @IgnoreMapping
+        private final String secret;
+
+        @ConstructorProperties({"status", "createdMillis", "ownerName", "secret"})
+        public ImmutableAccountDTO(String status, Long createdMillis, String ownerName, String secret) {
+            this.status = status;
+            this.createdMillis = createdMillis;
+            this.ownerName = ownerName;
+            this.secret = secret;
+        }
+
+        public String getStatus() { return status; }
+        public Long getCreatedMillis() { return createdMillis; }
+        public String getOwnerName() { return ownerName; }
+        public String getSecret() { return secret; }
+    }
+
+    public static class ImmutableCustomerEntity extends BaseEntity<ImmutableCustomerDTO> {
+        private String firstName;
+        private String lastName;
+        private Integer age;
+
+        public String getFirstName() { return firstName; }
+        public void setFirstName(String firstName) { this.firstName = firstName; }
+        public String getLastName() { return lastName; }
+        public void setLastName(String lastName) { this.lastName = lastName; }
+        public Integer getAge() { return age; }
+        public void setAge(Integer age) { this.age = age; }
+    }
+
+    public static final class ImmutableCustomerDTO implements BaseDTO {
+        private final String firstName;
+        private final String lastName;
+        private final int age;
+
+        @ConstructorProperties({"firstName", "lastName", "age"})
+        public ImmutableCustomerDTO(String firstName, String lastName, int age) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.age = age;
+        }
+
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public int getAge() { return age; }
+    }
 }
@@ -0,0 +1,74 @@
+package io.github.jokoframework.utils.process;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ProcessRunnerTest {
+
+    @Test
+    public void testStreamsStdoutAndStderr() throws Exception {
+        List<String> out = Collections.synchronizedList(new ArrayList<>());
+        List<String> err = Collections.synchronizedList(new ArrayList<>());
+        int exitCode = ProcessRunner.execute(Arrays.asList("sh", "-c", "echo uno; echo dos; echo error >&2; exit 3"),
+                out::add, err::add, 10, TimeUnit.SECONDS);
+
+        Assert.assertEquals(3, exitCode);
+        Assert.assertEquals(Arrays.asList("uno", "dos"), out);
+        Assert.assertEquals(Collections.singletonList("error"), err);
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testTimeout() throws Exception {
+        ProcessRunner.execute(Arrays.asList("sleep", "10"), null, null, 200, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testTimeoutReleasesDrainThreads() throws Exception {
+        //El proceso nieto hereda el pipe de stdout y lo mantiene abierto
+        try {
+            ProcessRunner.execute(Arrays.asList("sh", "-c", "sleep 30 & sleep 30"), line -> { }, line -> { },
+                    200, TimeUnit.MILLISECONDS);
+            Assert.fail("The command should time out");
+        } catch (TimeoutException e) {
+            // esperado
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ProcessRunner.activeDrains() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(0, ProcessRunner.activeDrains());
+    }
+
+    @Test
+    public void testBuilderIsNotModified() throws Exception {
+        ProcessBuilder builder = new ProcessBuilder("sh", "-c", "echo uno");
+        Assert.assertEquals(0, ProcessRunner.execute(builder, null, null, 10, TimeUnit.SECONDS));
+        Assert.assertEquals(ProcessBuilder.Redirect.PIPE, builder.redirectOutput());
+        Assert.assertEquals(ProcessBuilder.Redirect.PIPE, builder.redirectError());
+
+        List<String> out = new ArrayList<>();
+        ProcessRunner.execute(builder, out::add, null, 10, TimeUnit.SECONDS);
+        Assert.assertEquals(Collections.singletonList("uno"), out);
+    }
+
+    @Test
+    public void testSubmitMany() throws Exception {
+        try (ProcessRunner runner = new ProcessRunner(2)) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(runner.submit(Arrays.asList("sh", "-c", "exit " + i), null, null, 10, TimeUnit.SECONDS));
+            }
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(Integer.valueOf(i), results.get(i).get());
+            }
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package io.github.jokoframework.utils.reflection;
+
+import io.github.jokoframework.utils.dto_mapping.mock.CustomerEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+public class ReflectionUtilsTest {
+
+    @Test
+    public void testMetadataIsCachedPerClass() {
+        BeanMetadata metadata = BeanMetadata.forClass(CustomerEntity.class);
+        Assert.assertSame(metadata, BeanMetadata.forClass(CustomerEntity.class));
+
+        PropertyDescriptor[] descriptors = metadata.getPropertyDescriptors();
+        //"id" siempre primero
+        Assert.assertEquals("id", descriptors[0].getName());
+        Assert.assertNotNull(metadata.getPropertyDescriptor("firstName"));
+        Assert.assertNull(metadata.getPropertyDescriptor("notAField"));
+
+        BeanMetadata.invalidate(CustomerEntity.class);
+        Assert.assertNotSame(metadata, BeanMetadata.forClass(CustomerEntity.class));
+    }
+
+    @Test
+    public void testReadAndSet() {
+        CustomerEntity customer = createCustomer();
+        Assert.assertEquals("Thomas", ReflectionUtils.read(customer, "firstName"));
+
+        ReflectionUtils.callSetter(customer, "lastName", "Locke");
+        Assert.assertEquals("Locke", customer.getLastName());
+        Assert.assertEquals(String.class, ReflectionUtils.getClassForField(customer, "lastName"));
+        Assert.assertEquals(Object.class, ReflectionUtils.getClassForField(customer, "notAField"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReadUnknownField() {
+        ReflectionUtils.read(createCustomer(), "notAField");
+    }
+
+    @Test
+    public void testHasNonEmptyValues() {
+        CustomerEntity customer = createCustomer();
+        Assert.assertFalse(ReflectionUtils.hasNonEmptyValues(customer));
+        customer.setFirstName("  ");
+        Assert.assertTrue(ReflectionUtils.hasNonEmptyValues(customer));
+    }
+
+    @Test
+    public void testCompiledAccessors() {
+        PropertyAccessor accessor = BeanMetadata.forClass(Counter.class).getAccessor("count");
+        Counter counter = new Counter();
+        accessor.set(counter, 5);
+        Assert.assertEquals(5, accessor.get(counter));
+        Assert.assertEquals(5, ReflectionUtils.read(counter, "count"));
+
+        //Las clases del JDK no son accesibles para LambdaMetafactory, se usa el fallback
+        Date date = new Date(0);
+        PropertyAccessor time = BeanMetadata.forClass(Date.class).getAccessor("time");
+        time.set(date, 1000L);
+        Assert.assertEquals(1000L, time.get(date));
+    }
+
+    @Test
+    public void testPrimitiveConversions() throws Exception {
+        Measure measure = new Measure();
+        //Igual que Method.invoke: se ensancha el primitivo, pero no se convierte entre wrappers
+        ReflectionUtils.callSetter(measure, "amount", Integer.valueOf(5));
+        Assert.assertEquals(5L, measure.getAmount());
+        ReflectionUtils.callSetter(measure, "amount", 'a');
+        Assert.assertEquals(97L, measure.getAmount());
+        try {
+            ReflectionUtils.callSetter(measure, "total", Integer.valueOf(5));
+            Assert.fail("Integer is not a Long");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        try {
+            ReflectionUtils.callSetter(measure, "amount", null);
+            Assert.fail("null is not a long");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        ReflectionUtils.callSetter(measure, "total", 7L);
+        Assert.assertEquals(Long.valueOf(7), measure.getTotal());
+
+        //Los getters primitivos retornan el wrapper, como Method.invoke
+        measure.setActive(true);
+        Object amount = ReflectionUtils.read(measure, "amount");
+        Assert.assertEquals(Measure.class.getMethod("getAmount").invoke(measure), amount);
+        Assert.assertEquals(Long.class, amount.getClass());
+        Assert.assertEquals(Boolean.TRUE, ReflectionUtils.read(measure, "active"));
+    }
+
+    @Test
+    public void testNestedPropertyPath() {
+        Order order = new Order();
+        PropertyPath city = BeanMetadata.forClass(Order.class).getPropertyPath("address.city");
+        Assert.assertSame(city, BeanMetadata.forClass(Order.class).getPropertyPath("address.city"));
+
+        //null-safe
+        Assert.assertNull(city.get(order));
+        try {
+            ReflectionUtils.callSetter(order, "address.city", "Asuncion");
+            Assert.fail("Null intermediate value must fail without auto-instantiation");
+        } catch (IllegalStateException e) {
+            //esperado
+        }
+
+        city.set(order, "Asuncion", true);
+        Assert.assertEquals("Asuncion", order.getAddress().getCity());
+        ReflectionUtils.callSetter(order, "address.city", "Encarnacion");
+        Assert.assertEquals("Encarnacion", city.get(order));
+    }
+
+    @Test
+    public void testProjection() {
+        BeanProjection<CustomerEntity> projection = BeanProjection.of(CustomerEntity.class, "lastName", "id");
+        List<CustomerEntity> customers = Arrays.asList(createCustomer(), new CustomerEntity(31L, "John", "Locke", null));
+
+        List<Object[]> rows = projection.projectAll(customers);
+        Assert.assertArrayEquals(new Object[] {"Hobbes", 30L}, rows.get(0));
+        Assert.assertArrayEquals(new Object[] {"Locke", 31L}, rows.get(1));
+
+        List<Object> ids = new ArrayList<>();
+        projection.forEach(customers, row -> ids.add(row[1]));
+        Assert.assertEquals(Arrays.asList(30L, 31L), ids);
+        Assert.assertEquals(2, projection.stream(customers.stream()).count());
+
+        Order order = new Order();
+        Assert.assertArrayEquals(new Object[] {null}, BeanProjection.of(Order.class, "address.city").project(order));
+    }
+
+    @Test
+    public void testDescribe() {
+        CustomerEntity customer = createCustomer();
+        customer.setBirthDate(null);
+        String expected = "<CustomerEntity hashCode:" + customer.hashCode() + " >{id=30}; {firstName=Thomas}"
+                + "{lastName=Hobbes}{birthDate, = null}; Class: " + CustomerEntity.class.getName() + "</CustomerEntity>";
+        Assert.assertEquals(expected, ReflectionUtils.describe(customer));
+
+        Address address = new Address();
+        address.setCity("Asuncion");
+        Order order = new Order();
+        order.setAddress(address);
+        Assert.assertEquals("<Order >{address=<Address >{city=Asuncion}; Class: " + Address.class.getName()
+                + "</Address>}; Class: " + Order.class.getName() + "</Order>",
+                BeanDescriber.describe(order, false, 1, BeanDescriber.UNLIMITED));
+        Assert.assertEquals("<Order >{address=...", BeanDescriber.describe(order, false, 1, 17));
+    }
+
+    @Test
+    public void testCallerLookup() {
+        Assert.assertEquals("testCallerLookup", ReflectionUtils.getCurrentMethodName());
+        Assert.assertEquals("testCallerLookup", ReflectionUtils.getCallerMethod(0));
+        Assert.assertEquals("testCallerLookup", callerOfHelper());
+        Assert.assertEquals(ReflectionUtilsTest.class, callerClassOfHelper());
+    }
+
+    private String callerOfHelper() {
+        return ReflectionUtils.getCallerMethod(1);
+    }
+
+    private Class<?> callerClassOfHelper() {
+        return ReflectionUtils.getCallerClass();
+    }
+
+    @Test
+    public void testFieldsByType() {
+        Assert.assertEquals(Arrays.asList("address"), ReflectionUtils.getFieldsType(AddressBook.class, Address.class));
+        //las colecciones no se incluyen
+        Assert.assertEquals(Arrays.asList("address", "owner"),
+                ReflectionUtils.getFieldsType(AddressBook.class, Object.class));
+        //el tipo de elemento se resuelve desde la superclase generica
+        Assert.assertEquals(Arrays.asList("items"),
+                ReflectionUtils.getFieldsTypeCollection(new AddressBook(), Address.class));
+        Assert.assertTrue(ReflectionUtils.getFieldsTypeCollection(new AddressBook(), Order.class).isEmpty());
+    }
+
+    @Test
+    public void testValidator() {
+        BeanValidator<CustomerEntity> validator = BeanValidator.forClass(CustomerEntity.class);
+        List<CustomerEntity> batch = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            batch.add(createCustomer());
+        }
+        batch.get(7).setFirstName("");
+        batch.get(1500).setId(null);
+        batch.get(1500).setLastName(null);
+
+        Map<Integer, List<String>> failures = validator.validateAll(batch);
+        Assert.assertEquals(2, failures.size());
+        Assert.assertEquals(Arrays.asList("firstName"), failures.get(7));
+        Assert.assertEquals(Arrays.asList("id", "lastName"), failures.get(1500));
+        Assert.assertTrue(validator.getEmptyFields(batch.get(0)).isEmpty());
+    }
+
+    @Test
+    public void testMethodCache() {
+        CustomerEntity customer = createCustomer();
+        Method getter = ReflectionUtils.getMethod(customer, "getFirstName");
+        Assert.assertSame(getter, ReflectionUtils.getMethod(customer, "getFirstName"));
+        Assert.assertNull(ReflectionUtils.getMethodQuiet(customer, "notAMethod"));
+        Assert.assertNull(ReflectionUtils.getMethodQuiet(customer, "notAMethod"));
+
+        MethodInvoker invoker = MethodCache.getInvoker(CustomerEntity.class, "setLastName", String.class);
+        invoker.invoke(customer, "Locke");
+        Assert.assertEquals("Locke", customer.getLastName());
+        Assert.assertEquals("Locke", MethodCache.getInvoker(CustomerEntity.class, "getLastName").invokeWithArguments(customer));
+
+        Assert.assertEquals("fila 1 columna 2", ReflectionUtils.callGetterDynamic(new Grid(), "cell", Arrays.asList(1, 2)));
+    }
+
+    @Test
+    public void testMethodCacheBoundsMisses() {
+        for (int i = 0; i < MethodCache.MAX_MISSES * 2; i++) {
+            Assert.assertNull(MethodCache.getInvoker(Grid.class, "missing" + i));
+        }
+        Assert.assertEquals(MethodCache.MAX_MISSES, MethodCache.cachedMisses(Grid.class));
+        Assert.assertNull(MethodCache.getInvoker(Grid.class, "missing" + MethodCache.MAX_MISSES * 3));
+        Assert.assertNotNull(MethodCache.getInvoker(Grid.class, "getCell", Integer.class, Integer.class));
+    }
+
+    private CustomerEntity createCustomer() {
+        return new CustomerEntity(30L, "Thomas", "Hobbes", new Date(0));
+    }
+
+    static class Counter {
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    public static class Measure {
+        private long amount;
+        private Long total;
+        private boolean active;
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+
+        public Long getTotal() {
+            return total;
+        }
+
+        public void setTotal(Long total) {
+            this.total = total;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+
+    public static class Order {
+        private Address address;
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Address {
+        private String city;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+
+    public static class Holder<T> {
+        private List<T> items;
+        private Address address;
+
+        public List<T> getItems() {
+            return items;
+        }
+
+        public void setItems(List<T> items) {
+            this.items = items;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class AddressBook extends Holder<Address> {
+        private String owner;
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    public static class Grid {
+        public String getCell(Integer row, Integer column) {
+            return "fila " + row + " columna " + column;
+        }
+    }
+}
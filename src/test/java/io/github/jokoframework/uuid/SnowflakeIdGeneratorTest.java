@@ -0,0 +1,109 @@
+package io.github.jokoframework.uuid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SnowflakeIdGeneratorTest {
+
+    private static final long EPOCH = SnowflakeIdGenerator.DEFAULT_EPOCH;
+
+    @Test
+    public void testLayout(){
+        AtomicLong clock = new AtomicLong(EPOCH + 1000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, EPOCH, 10, clock::get);
+        long first = generator.nextId();
+        long second = generator.nextId();
+        Assert.assertEquals(EPOCH + 1000, generator.getTimestamp(first));
+        Assert.assertEquals(5, SnowflakeIdGenerator.getNodeId(first));
+        Assert.assertEquals(0, SnowflakeIdGenerator.getSequence(first));
+        Assert.assertEquals(1, SnowflakeIdGenerator.getSequence(second));
+    }
+
+    @Test
+    public void testExhaustedSequenceWaitsForClock() throws Exception {
+        AtomicLong clock = new AtomicLong(EPOCH + 1000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, EPOCH, 2, clock::get);
+        // Se agota la secuencia de más milisegundos que la tolerancia sin que el reloj avance
+        for (int ms = 0; ms < 5; ms++) {
+            long last = 0;
+            for (int i = 0; i < 4096; i++) {
+                last = generator.nextId();
+            }
+            Assert.assertEquals(clock.get(), generator.getTimestamp(last));
+            Assert.assertEquals(4095, SnowflakeIdGenerator.getSequence(last));
+
+            AtomicLong next = new AtomicLong();
+            Thread waiting = new Thread(() -> next.set(generator.nextId()));
+            waiting.start();
+            waiting.join(100);
+            Assert.assertTrue("Should wait for the clock", waiting.isAlive());
+            clock.incrementAndGet();
+            waiting.join(5000);
+            Assert.assertFalse(waiting.isAlive());
+            Assert.assertEquals(clock.get(), generator.getTimestamp(next.get()));
+            Assert.assertEquals(0, SnowflakeIdGenerator.getSequence(next.get()));
+            for (int i = 1; i < 4096; i++) {
+                Assert.assertEquals(clock.get(), generator.getTimestamp(generator.nextId()));
+            }
+            // Queda agotada la secuencia de este milisegundo para la siguiente vuelta
+            clock.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void testClockRollback(){
+        AtomicLong clock = new AtomicLong(EPOCH + 1000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, EPOCH, 10, clock::get);
+        long previous = generator.nextId();
+        clock.set(EPOCH + 995);
+        long id = generator.nextId();
+        Assert.assertTrue(id > previous);
+        Assert.assertEquals(EPOCH + 1000, generator.getTimestamp(id));
+
+        clock.set(EPOCH + 900);
+        try {
+            generator.nextId();
+            Assert.fail("Clock moved backwards more than the tolerance");
+        } catch (IllegalStateException e) {
+            // esperado
+        }
+        clock.set(EPOCH + 1001);
+        Assert.assertEquals(EPOCH + 1001, generator.getTimestamp(generator.nextId()));
+    }
+
+    @Test
+    public void testConcurrentAndBase32() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID);
+        List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    ids.add(generator.nextId());
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(40000, new HashSet<>(ids).size());
+
+        Collections.sort(ids);
+        String previous = SnowflakeIdGenerator.toBase32(0);
+        for (long id : ids) {
+            String base32 = SnowflakeIdGenerator.toBase32(id);
+            Assert.assertEquals(13, base32.length());
+            Assert.assertTrue(base32.compareTo(previous) > 0);
+            Assert.assertEquals(id, SnowflakeIdGenerator.fromBase32(base32));
+            previous = base32;
+        }
+        Assert.assertEquals(Long.MAX_VALUE, SnowflakeIdGenerator.fromBase32(SnowflakeIdGenerator.toBase32(Long.MAX_VALUE)));
+    }
+}
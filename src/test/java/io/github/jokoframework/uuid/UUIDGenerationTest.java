@@ -1,11 +1,21 @@
 package io.github.jokoframework.uuid;
 
+import org.apache.commons.codec.binary.Base32;
 import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 
 /**
@@ -41,6 +51,136 @@ public class UUIDGenerationTest {
         }
     }
 
+    @Test
+    public void testTimeOrdered(){
+        TXUUIDGenerator generator = TXUUIDGenerator.timeOrdered(16);
+        long before = System.currentTimeMillis();
+        String previous = generator.minIdFor(before);
+        for (int i = 0; i < 100000; i++) {
+            String uuid = generator.generate();
+            Assert.assertEquals(16, uuid.length());
+            Assert.assertTrue(uuid + " <= " + previous, uuid.compareTo(previous) > 0);
+            previous = uuid;
+        }
+        long timestamp = TXUUIDGenerator.getTimestamp(previous);
+        Assert.assertTrue(timestamp >= before);
+        Assert.assertTrue(previous.compareTo(generator.minIdFor(timestamp + 1)) < 0);
+        Assert.assertEquals(26, TXUUIDGenerator.timeOrdered(26).generate().length());
+    }
+
+    @Test
+    public void testEncodingMatchesBase32(){
+        Random random = new Random(42);
+        for (int length = 2; length <= 27; length++) {
+            int octets = length * 5 / 8;
+            TXUUIDGenerator generator = new TXUUIDGenerator(length);
+            char[] chars = new char[generator.getEncodedLength()];
+            for (int i = 0; i < 1000; i++) {
+                long msb = random.nextLong();
+                long lsb = random.nextLong();
+                // Buffer y codificación de la implementación anterior
+                byte[] buffer = new byte[octets];
+                int fromMostSignificant = Math.max(octets - 8, 0);
+                TXUUIDGenerator.toArray(msb, fromMostSignificant, buffer, 0);
+                TXUUIDGenerator.toArray(lsb, octets - fromMostSignificant, buffer, fromMostSignificant);
+                String expected = new Base32().encodeToString(buffer).replace("=", "");
+
+                Base32Encoder.encodeFromTop(TXUUIDGenerator.octets(msb, lsb, octets, 0),
+                        TXUUIDGenerator.octets(msb, lsb, octets, 1), chars.length, Base32Encoder.RFC4648, chars, 0);
+                Assert.assertEquals(expected, new String(chars));
+            }
+        }
+    }
+
+    @Test
+    public void testGenerateInto(){
+        TXUUIDGenerator generator = new TXUUIDGenerator(20);
+        char[] chars = new char[24];
+        Assert.assertEquals(20, generator.generateInto(chars, 2));
+        Assert.assertEquals(0, chars[0]);
+        Assert.assertTrue(new String(chars, 2, 20).matches("[A-Z2-7]{20}"));
+        Assert.assertEquals(0, chars[22]);
+
+        TXUUIDGenerator ordered = TXUUIDGenerator.timeOrdered(16);
+        byte[] bytes = new byte[16];
+        long before = System.currentTimeMillis();
+        Assert.assertEquals(16, ordered.generateInto(bytes, 0));
+        String id = new String(bytes, StandardCharsets.US_ASCII);
+        Assert.assertTrue(TXUUIDGenerator.getTimestamp(id) >= before);
+    }
+
+    @Test
+    public void testEntropySources() throws InterruptedException {
+        EntropySource secure = EntropySources.secure(SecureRandom::new, 16);
+        long[] values = new long[5];
+        secure.nextLongs(values, 0, values.length);
+        Assert.assertEquals(values.length, Arrays.stream(values).distinct().count());
+
+        List<String> ids = Collections.synchronizedList(new ArrayList<>());
+        TXUUIDGenerator generator = new TXUUIDGenerator(20, secure);
+        TXUUIDGenerator fast = TXUUIDGenerator.timeOrdered(26, EntropySources.NON_CRYPTO);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    ids.add(generator.generate());
+                    ids.add(fast.generate());
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(8000, new HashSet<>(ids).size());
+
+        AtomicInteger created = new AtomicInteger();
+        EntropySource counted = EntropySources.secure(() -> {
+            created.incrementAndGet();
+            return new SecureRandom();
+        }, 16);
+        counted.nextLong();
+        counted.nextLong();
+        Assert.assertEquals(1, created.get());
+        counted.releaseCurrentThread();
+        counted.nextLong();
+        Assert.assertEquals(2, created.get());
+
+        try {
+            EntropySources.secure(SecureRandom::new, 12);
+            Assert.fail("Block size must be a multiple of 8");
+        } catch (IllegalArgumentException e) {
+            // esperado
+        }
+    }
+
+    @Test
+    public void testBatchGeneration(){
+        TXUUIDGenerator generator = new TXUUIDGenerator(20);
+        String[] ids = generator.generate(1000);
+        Assert.assertEquals(1000, new HashSet<>(Arrays.asList(ids)).size());
+        for (String id : ids) {
+            Assert.assertTrue(id.matches("[A-Z2-7]{20}"));
+        }
+        Assert.assertEquals(0, generator.generate(0).length);
+
+        TXUUIDGenerator ordered = TXUUIDGenerator.timeOrdered(16);
+        String first = ordered.generate();
+        String[] batch = new String[600];
+        ordered.fill(batch);
+        String previous = first;
+        for (String id : batch) {
+            Assert.assertTrue(id + " <= " + previous, id.compareTo(previous) > 0);
+            previous = id;
+        }
+        Assert.assertTrue(ordered.generate().compareTo(previous) > 0);
+
+        List<String> streamed = ordered.stream().limit(700).collect(Collectors.toList());
+        Assert.assertEquals(700, streamed.size());
+        Assert.assertTrue(streamed.get(0).compareTo(previous) > 0);
+        Assert.assertEquals(700, new HashSet<>(streamed).size());
+    }
+
     /***
      * Genera un id y comprueba que sea del tamaño esperado
      * @param pExpectedLength